@@ -0,0 +1,159 @@
+package com.clearsolutions.task.admission;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// AIMD concurrency limit driven by latency: every request completing within the latency threshold while the
+// limit is in use raises the limit by 1/limit (about +1 per limit's worth of requests), a slower request
+// multiplies it by the backoff ratio at most once per threshold. Requests over the limit wait in a short
+// bounded FIFO queue, and new requests do not overtake queued ones.
+public class AdaptiveLimiter {
+
+    public enum Admission {
+        ADMITTED, QUEUE_FULL, TIMED_OUT
+    }
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long latencyThresholdNanos;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // One condition per queued request, so a release wakes exactly the request at the head of the queue.
+    private final Deque<Condition> waiters = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    private long admitted;
+    private long queueFull;
+    private long timedOut;
+    private long decreases;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                           int maxQueue, Duration queueTimeout) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits of " + name + " should satisfy 1 <= min <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    public Admission acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                return admit();
+            }
+            if (waiters.size() >= maxQueue) {
+                queueFull++;
+                return Admission.QUEUE_FULL;
+            }
+            Condition turn = lock.newCondition();
+            waiters.addLast(turn);
+            try {
+                long remaining = queueTimeoutNanos;
+                while (waiters.peekFirst() != turn || inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        timedOut++;
+                        return Admission.TIMED_OUT;
+                    }
+                    remaining = turn.awaitNanos(remaining);
+                }
+                return admit();
+            } finally {
+                boolean head = waiters.peekFirst() == turn;
+                waiters.remove(turn);
+                if (head) {
+                    signalNext();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Admission admit() {
+        inFlight++;
+        admitted++;
+        return Admission.ADMITTED;
+    }
+
+    private void signalNext() {
+        Condition next = waiters.peekFirst();
+        if (next != null && inFlight < (int) limit) {
+            next.signal();
+        }
+    }
+
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            boolean limitInUse = inFlight * 2 >= limit;
+            inFlight--;
+            if (latencyNanos > latencyThresholdNanos) {
+                // The requests in flight when the limit backs off complete slowly too; they are one signal, so
+                // the limit is lowered again only once a threshold has passed since the last decrease.
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastDecreaseNanos = now;
+                    decreases++;
+                }
+            } else if (limitInUse) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", name);
+            stats.put("limit", (int) limit);
+            stats.put("minLimit", minLimit);
+            stats.put("maxLimit", maxLimit);
+            stats.put("latencyThresholdMs", TimeUnit.NANOSECONDS.toMillis(latencyThresholdNanos));
+            stats.put("inFlight", inFlight);
+            stats.put("queued", waiters.size());
+            stats.put("maxQueue", maxQueue);
+            stats.put("admitted", admitted);
+            stats.put("rejectedQueueFull", queueFull);
+            stats.put("rejectedTimedOut", timedOut);
+            stats.put("decreases", decreases);
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.clearsolutions.task.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Admits requests to the user endpoints through the read, write or bulk limiter. A full queue is answered with 429,
+// a request that waited the whole queue timeout with 503; both are cheap and tell clients to back off.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    // Set on rejected requests, so filters running around this one can tell them from handled ones.
+    public static final String SHED_ATTRIBUTE = AdmissionControlFilter.class.getName() + ".SHED";
+
+    private final AdmissionLimiters limiters;
+
+    public AdmissionControlFilter(AdmissionLimiters limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveLimiter limiter = isRead(request) ? limiters.read()
+                : isBulk(request) ? limiters.bulk()
+                : limiters.write();
+        AdaptiveLimiter.Admission admission;
+        try {
+            admission = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, retry later");
+            return;
+        }
+        if (admission == AdaptiveLimiter.Admission.QUEUE_FULL) {
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many requests, retry later");
+            return;
+        }
+        if (admission == AdaptiveLimiter.Admission.TIMED_OUT) {
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, retry later");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static boolean isBulk(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/users/ops") || path.startsWith("/users/bulk/");
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                               String message) throws IOException {
+        request.setAttribute(SHED_ATTRIBUTE, Boolean.TRUE);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"Error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,28 @@
+package com.clearsolutions.task.admission;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+    private final AdmissionLimiters admissionLimiters;
+
+    public AdmissionEndpoint(AdmissionLimiters admissionLimiters) {
+        this.admissionLimiters = admissionLimiters;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("read", admissionLimiters.read().stats());
+        stats.put("write", admissionLimiters.write().stats());
+        stats.put("bulk", admissionLimiters.bulk().stats());
+        return stats;
+    }
+}
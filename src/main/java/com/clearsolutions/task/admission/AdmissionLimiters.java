@@ -0,0 +1,29 @@
+package com.clearsolutions.task.admission;
+
+// Reads and writes are limited separately, so a burst of writes waiting on row locks or connections does not
+// starve the list and range queries, and the other way round. Bulk writes (/users/bulk/*, /users/ops) get
+// their own limiter: they run much longer than single-user writes and would otherwise drive the write limit down.
+public class AdmissionLimiters {
+
+    private final AdaptiveLimiter read;
+    private final AdaptiveLimiter write;
+    private final AdaptiveLimiter bulk;
+
+    public AdmissionLimiters(AdaptiveLimiter read, AdaptiveLimiter write, AdaptiveLimiter bulk) {
+        this.read = read;
+        this.write = write;
+        this.bulk = bulk;
+    }
+
+    public AdaptiveLimiter read() {
+        return read;
+    }
+
+    public AdaptiveLimiter write() {
+        return write;
+    }
+
+    public AdaptiveLimiter bulk() {
+        return bulk;
+    }
+}
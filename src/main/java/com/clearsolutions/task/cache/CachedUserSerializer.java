@@ -0,0 +1,96 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.model.User;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+// Writes a User as its cached JSON fragment, copied into the output as raw bytes. Only plain, non-indented
+// JSON output uses the cache; binary formats, token buffers, pretty printing and custom character escapes go
+// through the bean serializer. Fragments are written with the mapper's own factory and the generator's
+// features, which are part of the cache key, so mappers with different output features never share a fragment.
+class CachedUserSerializer extends StdSerializer<User> implements ContextualSerializer, ResolvableSerializer {
+
+    private final JsonSerializer<Object> delegate;
+    private final UserJsonCache userJsonCache;
+
+    CachedUserSerializer(JsonSerializer<Object> delegate, UserJsonCache userJsonCache) {
+        super(User.class);
+        this.delegate = delegate;
+        this.userJsonCache = userJsonCache;
+    }
+
+    @Override
+    public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        JsonFactory factory = jsonFactory(gen);
+        if (factory == null || gen.getPrettyPrinter() != null || gen.getCharacterEscapes() != null
+                || user.getId() == null || user.getVersion() == null) {
+            delegate.serialize(user, gen, provider);
+            return;
+        }
+        int features = gen.getFeatureMask();
+        SerializableString json = userJsonCache.get(user.getId(), user.getVersion(), features);
+        if (json == null) {
+            json = serializeFragment(user, features, factory, provider);
+            userJsonCache.put(user.getId(), user.getVersion(), features, json);
+        }
+        gen.writeRawValue(json);
+    }
+
+    // The factory of the mapper writing a textual JSON output, or null when raw JSON cannot be copied into it.
+    private static JsonFactory jsonFactory(JsonGenerator gen) {
+        if (gen.canWriteBinaryNatively() || gen.getCodec() == null) {
+            return null;
+        }
+        JsonFactory factory = gen.getCodec().getFactory();
+        return factory != null && JsonFactory.FORMAT_NAME_JSON.equals(factory.getFormatName()) ? factory : null;
+    }
+
+    private SerializableString serializeFragment(User user, int features, JsonFactory factory,
+                                                 SerializerProvider provider) throws IOException {
+        StringWriter writer = new StringWriter(256);
+        try (JsonGenerator fragmentGen = factory.createGenerator(writer)) {
+            fragmentGen.overrideStdFeatures(features, -1);
+            delegate.serialize(user, fragmentGen, provider);
+        }
+        return new SerializedString(writer.toString());
+    }
+
+    @Override
+    public void serializeWithType(User user, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        delegate.serializeWithType(user, gen, provider, typeSer);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        if (!(delegate instanceof ContextualSerializer contextual)) {
+            return this;
+        }
+        JsonSerializer<?> contextualDelegate = contextual.createContextual(provider, property);
+        return contextualDelegate == delegate
+                ? this
+                : new CachedUserSerializer((JsonSerializer<Object>) contextualDelegate, userJsonCache);
+    }
+}
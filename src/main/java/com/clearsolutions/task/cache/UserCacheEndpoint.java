@@ -0,0 +1,36 @@
+package com.clearsolutions.task.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "usercache")
+public class UserCacheEndpoint {
+
+    private final UserQueryCache userQueryCache;
+    private final UserCounter userCounter;
+    private final UserJsonCache userJsonCache;
+    private final UserEmailCache userEmailCache;
+
+    public UserCacheEndpoint(UserQueryCache userQueryCache, UserCounter userCounter, UserJsonCache userJsonCache,
+                             UserEmailCache userEmailCache) {
+        this.userQueryCache = userQueryCache;
+        this.userCounter = userCounter;
+        this.userJsonCache = userJsonCache;
+        this.userEmailCache = userEmailCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queries", userQueryCache.stats());
+        stats.put("counter", userCounter.stats());
+        stats.put("json", userJsonCache.stats());
+        stats.put("emails", userEmailCache.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,76 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.event.UsersBulkChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+@Component
+public class UserCounter {
+
+    private final long resyncAfterNanos;
+
+    private long total = -1;
+    private long syncedAt;
+    private long generation;
+    private long recounts;
+
+    public UserCounter(@Value("${users.counter.resync-after:60s}") Duration resyncAfter) {
+        this.resyncAfterNanos = resyncAfter.toNanos();
+    }
+
+    // Writes keep the total current between recounts; the periodic recount bounds drift from rows
+    // written by other instances or outside of UserService.
+    public long total(LongSupplier loader) {
+        long observedGeneration;
+        synchronized (this) {
+            if (total >= 0 && System.nanoTime() - syncedAt < resyncAfterNanos) {
+                return total;
+            }
+            observedGeneration = generation;
+        }
+        long counted = loader.getAsLong();
+        synchronized (this) {
+            recounts++;
+            if (generation == observedGeneration) {
+                total = counted;
+                syncedAt = System.nanoTime();
+            }
+        }
+        return counted;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        generation++;
+        if (total < 0) {
+            return;
+        }
+        if (event.isCreation()) {
+            total++;
+        } else if (event.isDeletion()) {
+            total--;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUsersBulkChanged(UsersBulkChangedEvent event) {
+        generation++;
+        if (total >= 0) {
+            total = Math.max(0, total - event.deleted());
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", total);
+        stats.put("recounts", recounts);
+        return stats;
+    }
+}
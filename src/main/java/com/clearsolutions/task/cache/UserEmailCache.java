@@ -0,0 +1,119 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.event.UsersBulkChangedEvent;
+import com.clearsolutions.task.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Users by normalized email. Write events only carry ids, so the cache keeps the email of every cached id to
+// evict by id. Absent emails are not cached: a user created with that email would be missed otherwise.
+@Component
+public class UserEmailCache {
+
+    private final int maxEntries;
+    private final Map<String, User> entries;
+    private final Map<Long, String> emailsById = new HashMap<>();
+
+    // Same guard as UserQueryCache: a lookup racing with a write never stores the user it read.
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserEmailCache(@Value("${users.email-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+                if (size() > UserEmailCache.this.maxEntries) {
+                    emailsById.remove(eldest.getValue().getId());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<User> getOrLoad(String email, Supplier<Optional<User>> loader) {
+        if (maxEntries <= 0) {
+            return loader.get();
+        }
+        long observedGeneration;
+        synchronized (entries) {
+            User cached = entries.get(email);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Optional.of(cached);
+            }
+            observedGeneration = generation;
+        }
+        misses.incrementAndGet();
+        Optional<User> user = loader.get();
+        user.ifPresent(found -> {
+            synchronized (entries) {
+                if (generation == observedGeneration) {
+                    entries.put(email, found);
+                    emailsById.put(found.getId(), email);
+                }
+            }
+        });
+        return user;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (entries) {
+            generation++;
+            evict(event.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersBulkChanged(UsersBulkChangedEvent event) {
+        synchronized (entries) {
+            generation++;
+            if (event.allIds()) {
+                invalidations.addAndGet(entries.size());
+                entries.clear();
+                emailsById.clear();
+                return;
+            }
+            event.ids().forEach(this::evict);
+        }
+    }
+
+    private void evict(Long id) {
+        String email = emailsById.remove(id);
+        if (email != null && entries.remove(email) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+}
@@ -0,0 +1,117 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.event.UsersBulkChangedEvent;
+import com.fasterxml.jackson.core.SerializableString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serialized JSON of each user, keyed by id and generator feature mask and checked against the entity version,
+// so a fragment is only reused for the exact row state and output features it was written with. Least recently
+// used ids are evicted once maxEntries is reached. Writes evict fragments after commit to free memory;
+// correctness does not depend on the eviction.
+@Component
+public class UserJsonCache {
+
+    private record Fragment(long version, SerializableString json) {
+    }
+
+    private final int maxEntries;
+    // Fragments of an id per generator feature mask; usually a single one.
+    private final Map<Long, Map<Integer, Fragment>> fragments;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserJsonCache(@Value("${users.json-cache.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.fragments = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<Integer, Fragment>> eldest) {
+                if (size() > UserJsonCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public SerializableString get(long id, long version, int features) {
+        Fragment fragment;
+        synchronized (fragments) {
+            Map<Integer, Fragment> byFeatures = fragments.get(id);
+            fragment = byFeatures != null ? byFeatures.get(features) : null;
+        }
+        if (fragment != null && fragment.version() == version) {
+            hits.incrementAndGet();
+            return fragment.json();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(long id, long version, int features, SerializableString json) {
+        Fragment fragment = new Fragment(version, json);
+        synchronized (fragments) {
+            fragments.computeIfAbsent(id, key -> new HashMap<>(2))
+                    .merge(features, fragment, (current, added) -> added.version() >= current.version() ? added : current);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (fragments) {
+            evict(event.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersBulkChanged(UsersBulkChangedEvent event) {
+        synchronized (fragments) {
+            if (event.allIds()) {
+                invalidations.addAndGet(fragments.size());
+                fragments.clear();
+                return;
+            }
+            event.ids().forEach(this::evict);
+        }
+    }
+
+    private void evict(Long id) {
+        if (id != null && fragments.remove(id) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        int size;
+        synchronized (fragments) {
+            size = fragments.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+}
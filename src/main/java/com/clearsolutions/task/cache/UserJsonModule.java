@@ -0,0 +1,26 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.model.User;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+public class UserJsonModule extends SimpleModule {
+
+    public UserJsonModule(UserJsonCache userJsonCache) {
+        super("UserJsonModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                                                      JsonSerializer<?> serializer) {
+                if (userJsonCache.isEnabled() && beanDesc.getBeanClass() == User.class) {
+                    return new CachedUserSerializer((JsonSerializer<Object>) serializer, userJsonCache);
+                }
+                return serializer;
+            }
+        });
+    }
+}
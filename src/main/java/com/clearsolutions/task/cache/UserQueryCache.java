@@ -0,0 +1,159 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.event.UsersBulkChangedEvent;
+import com.clearsolutions.task.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Component
+public class UserQueryCache {
+
+    private final int maxEntries;
+    private final int maxPageSize;
+    private final Map<UserQueryKey, Page<User>> entries;
+    private final Map<UserQueryKey, Long> counts;
+
+    // Bumped on every invalidation so that a load racing with a write never stores its (possibly stale) page.
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong countHits = new AtomicLong();
+    private final AtomicLong countMisses = new AtomicLong();
+    private final AtomicLong countEvictions = new AtomicLong();
+    private final AtomicLong countInvalidations = new AtomicLong();
+
+    public UserQueryCache(@Value("${users.query-cache.max-entries:1000}") int maxEntries,
+                          @Value("${users.query-cache.max-page-size:100}") int maxPageSize) {
+        this.maxEntries = maxEntries;
+        this.maxPageSize = maxPageSize;
+        this.entries = boundedMap(evictions);
+        this.counts = boundedMap(countEvictions);
+    }
+
+    private <V> Map<UserQueryKey, V> boundedMap(AtomicLong evictions) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UserQueryKey, V> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Page<User> getOrLoad(UserQueryKey key, Supplier<Page<User>> loader) {
+        if (maxEntries <= 0 || key.size() > maxPageSize) {
+            return loader.get();
+        }
+        long observedGeneration;
+        synchronized (entries) {
+            Page<User> cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            observedGeneration = generation;
+        }
+        misses.incrementAndGet();
+        Page<User> page = loader.get();
+        synchronized (entries) {
+            if (generation == observedGeneration) {
+                entries.put(key, page);
+            }
+        }
+        return page;
+    }
+
+    public long countOrLoad(LocalDate from, LocalDate to, LongSupplier loader) {
+        if (maxEntries <= 0) {
+            return loader.getAsLong();
+        }
+        UserQueryKey key = UserQueryKey.count(from, to);
+        long observedGeneration;
+        synchronized (entries) {
+            Long cached = counts.get(key);
+            if (cached != null) {
+                countHits.incrementAndGet();
+                return cached;
+            }
+            observedGeneration = generation;
+        }
+        countMisses.incrementAndGet();
+        long count = loader.getAsLong();
+        synchronized (entries) {
+            if (generation == observedGeneration) {
+                counts.put(key, count);
+            }
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(key -> key.covers(event.previousBirthDate()) || key.covers(event.birthDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersBulkChanged(UsersBulkChangedEvent event) {
+        invalidate(key -> key.overlaps(event.minBirthDate(), event.maxBirthDate()) || key.covers(event.birthDate()));
+    }
+
+    private void invalidate(Predicate<UserQueryKey> affected) {
+        synchronized (entries) {
+            generation++;
+            int entriesBefore = entries.size();
+            int countsBefore = counts.size();
+            entries.keySet().removeIf(affected);
+            counts.keySet().removeIf(affected);
+            invalidations.addAndGet(entriesBefore - entries.size());
+            countInvalidations.addAndGet(countsBefore - counts.size());
+        }
+    }
+
+    // Pages and counts are reported separately: they are looked up and invalidated at different rates.
+    public Map<String, Object> stats() {
+        int size;
+        int countSize;
+        synchronized (entries) {
+            size = entries.size();
+            countSize = counts.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxPageSize", maxPageSize);
+        stats.putAll(stats(size, hits, misses, evictions, invalidations));
+        stats.put("counts", stats(countSize, countHits, countMisses, countEvictions, countInvalidations));
+        return stats;
+    }
+
+    private static Map<String, Object> stats(int size, AtomicLong hits, AtomicLong misses, AtomicLong evictions,
+                                             AtomicLong invalidations) {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+}
@@ -0,0 +1,36 @@
+package com.clearsolutions.task.cache;
+
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+
+public record UserQueryKey(LocalDate from, LocalDate to, int page, int size, String sort) {
+
+    public static UserQueryKey of(LocalDate from, LocalDate to, Pageable pageable) {
+        return new UserQueryKey(from, to, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString());
+    }
+
+    public static UserQueryKey of(Pageable pageable) {
+        return of(null, null, pageable);
+    }
+
+    public static UserQueryKey count(LocalDate from, LocalDate to) {
+        return new UserQueryKey(from, to, 0, 0, "count");
+    }
+
+    // A null bound means the query is not filtered on that side, so every birth date is covered by /users.
+    public boolean covers(LocalDate birthDate) {
+        if (birthDate == null) {
+            return false;
+        }
+        return (from == null || !birthDate.isBefore(from)) && (to == null || !birthDate.isAfter(to));
+    }
+
+    public boolean overlaps(LocalDate otherFrom, LocalDate otherTo) {
+        if (otherFrom == null || otherTo == null) {
+            return false;
+        }
+        return (from == null || !otherTo.isBefore(from)) && (to == null || !otherFrom.isAfter(to));
+    }
+}
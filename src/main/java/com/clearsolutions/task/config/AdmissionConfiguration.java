@@ -0,0 +1,58 @@
+package com.clearsolutions.task.config;
+
+import com.clearsolutions.task.admission.AdaptiveLimiter;
+import com.clearsolutions.task.admission.AdmissionControlFilter;
+import com.clearsolutions.task.admission.AdmissionLimiters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+public class AdmissionConfiguration {
+
+    // The defaults live here only; application.yml does not repeat them.
+    @Bean
+    AdmissionLimiters admissionLimiters(
+            @Value("${users.admission.read.initial-limit:20}") int readInitialLimit,
+            @Value("${users.admission.read.min-limit:4}") int readMinLimit,
+            @Value("${users.admission.read.max-limit:200}") int readMaxLimit,
+            @Value("${users.admission.read.latency-threshold:250ms}") Duration readLatencyThreshold,
+            @Value("${users.admission.read.max-queue:50}") int readMaxQueue,
+            @Value("${users.admission.read.queue-timeout:100ms}") Duration readQueueTimeout,
+            @Value("${users.admission.write.initial-limit:10}") int writeInitialLimit,
+            @Value("${users.admission.write.min-limit:2}") int writeMinLimit,
+            @Value("${users.admission.write.max-limit:50}") int writeMaxLimit,
+            @Value("${users.admission.write.latency-threshold:500ms}") Duration writeLatencyThreshold,
+            @Value("${users.admission.write.max-queue:20}") int writeMaxQueue,
+            @Value("${users.admission.write.queue-timeout:100ms}") Duration writeQueueTimeout,
+            @Value("${users.admission.bulk.initial-limit:4}") int bulkInitialLimit,
+            @Value("${users.admission.bulk.min-limit:1}") int bulkMinLimit,
+            @Value("${users.admission.bulk.max-limit:16}") int bulkMaxLimit,
+            @Value("${users.admission.bulk.latency-threshold:2s}") Duration bulkLatencyThreshold,
+            @Value("${users.admission.bulk.max-queue:10}") int bulkMaxQueue,
+            @Value("${users.admission.bulk.queue-timeout:100ms}") Duration bulkQueueTimeout) {
+        return new AdmissionLimiters(
+                new AdaptiveLimiter("read", readInitialLimit, readMinLimit, readMaxLimit, readLatencyThreshold,
+                        readMaxQueue, readQueueTimeout),
+                new AdaptiveLimiter("write", writeInitialLimit, writeMinLimit, writeMaxLimit, writeLatencyThreshold,
+                        writeMaxQueue, writeQueueTimeout),
+                new AdaptiveLimiter("bulk", bulkInitialLimit, bulkMinLimit, bulkMaxLimit, bulkLatencyThreshold,
+                        bulkMaxQueue, bulkQueueTimeout));
+    }
+
+    // Right after the request cost filter, so shed requests are still accounted, and before everything else.
+    @Bean
+    @ConditionalOnProperty(name = "users.admission.enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionLimiters admissionLimiters) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionLimiters));
+        registration.addUrlPatterns("/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,29 @@
+package com.clearsolutions.task.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Smile (application/x-jackson-smile) and CBOR (application/cbor) for clients that ask for them in Accept.
+// Boot's HttpMessageConverters puts converter beans in place of the default converters of the same type, so
+// these come after the JSON converter and requests accepting */* keep getting JSON. Each mapper is built
+// from its own copy of Boot's builder (a prototype bean), so it has the spring.jackson.* settings and modules.
+@Configuration(proxyBeanMethods = false)
+public class ContentNegotiationConfiguration {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
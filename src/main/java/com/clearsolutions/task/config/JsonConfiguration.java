@@ -0,0 +1,17 @@
+package com.clearsolutions.task.config;
+
+import com.clearsolutions.task.cache.UserJsonCache;
+import com.clearsolutions.task.cache.UserJsonModule;
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class JsonConfiguration {
+
+    // Picked up by Spring Boot's Jackson auto-configuration and registered with the application ObjectMapper.
+    @Bean
+    Module userJsonModule(UserJsonCache userJsonCache) {
+        return new UserJsonModule(userJsonCache);
+    }
+}
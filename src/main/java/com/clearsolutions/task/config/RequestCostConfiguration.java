@@ -0,0 +1,27 @@
+package com.clearsolutions.task.config;
+
+import com.clearsolutions.task.metrics.RequestCostFilter;
+import com.clearsolutions.task.metrics.RequestCostRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+public class RequestCostConfiguration {
+
+    // Outermost filter on the user endpoints, so the measured cost includes every other filter.
+    @Bean
+    @ConditionalOnProperty(name = "users.request-cost.enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<RequestCostFilter> requestCostFilter(
+            RequestCostRecorder requestCostRecorder,
+            @Value("${users.request-cost.server-timing:false}") boolean serverTiming) {
+        FilterRegistrationBean<RequestCostFilter> registration =
+                new FilterRegistrationBean<>(new RequestCostFilter(requestCostRecorder, serverTiming));
+        registration.addUrlPatterns("/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,19 @@
+package com.clearsolutions.task.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    // With spring.main.lazy-initialization the data access stack is still created eagerly, so the first
+    // request after a scale-out does not pay for connection pool and Hibernate bootstrap.
+    @Bean
+    static LazyInitializationExcludeFilter eagerDataAccess() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class);
+    }
+}
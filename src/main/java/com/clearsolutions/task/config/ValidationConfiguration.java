@@ -0,0 +1,24 @@
+package com.clearsolutions.task.config;
+
+import com.clearsolutions.task.validation.UserRequestValidator;
+import jakarta.validation.ValidatorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ValidationConfiguration {
+
+    private final ValidatorFactory validatorFactory;
+    private final int validAge;
+
+    public ValidationConfiguration(ValidatorFactory validatorFactory, @Value("${request.age}") int validAge) {
+        this.validatorFactory = validatorFactory;
+        this.validAge = validAge;
+    }
+
+    @Bean
+    public UserRequestValidator userRequestValidator() {
+        return new UserRequestValidator(validatorFactory, validAge);
+    }
+}
@@ -1,16 +1,24 @@
 package com.clearsolutions.task.controller;
 
+import com.clearsolutions.task.dto.BulkPatchRequest;
+import com.clearsolutions.task.dto.BulkResult;
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserCursor;
 import com.clearsolutions.task.model.User;
 import com.clearsolutions.task.validation.PatchValidation;
 import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.service.PatchCoalescer;
 import com.clearsolutions.task.service.UserService;
 import com.clearsolutions.task.validation.PutValidation;
+import com.clearsolutions.task.validation.UserRequestValidator;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -22,26 +30,59 @@ import java.time.LocalDate;
 public class UserController {
 
     private final UserService userService;
+    private final PatchCoalescer patchCoalescer;
+    private final UserRequestValidator userRequestValidator;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+                          PatchCoalescer patchCoalescer,
+                          UserRequestValidator userRequestValidator) {
         this.userService = userService;
+        this.patchCoalescer = patchCoalescer;
+        this.userRequestValidator = userRequestValidator;
+    }
+
+    // Only UserRequest bodies use the compiled validator; everything else keeps the default MVC validator.
+    @InitBinder("userRequest")
+    public void initUserRequestBinder(WebDataBinder binder) {
+        binder.setValidator(userRequestValidator);
     }
 
     @GetMapping()
-    public ResponseEntity<Page<User>> getAllUsers(Pageable pageable) {
+    public ResponseEntity<Slice<User>> getAllUsers(@RequestParam(name = "slice", defaultValue = "false") boolean slice,
+                                                   @RequestParam(name = "after", required = false) String after,
+                                                   Pageable pageable) {
+        if (after != null) {
+            return ResponseEntity.ok(userService.getUsersSliceAfter(UserCursor.parse(after), pageable));
+        }
+        if (slice) {
+            return ResponseEntity.ok(userService.getUsersSlice(pageable));
+        }
         Page<User> allUsers = userService.getAllUsers(pageable);
         return ResponseEntity.ok(allUsers);
     }
 
     @GetMapping("/range")
-    public ResponseEntity<Page<User>> getAllUsersInRange(
+    public ResponseEntity<Slice<User>> getAllUsersInRange(
             @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @NotNull LocalDate fromDate,
             @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @NotNull LocalDate toDate,
+            @RequestParam(name = "slice", defaultValue = "false") boolean slice,
+            @RequestParam(name = "after", required = false) String after,
             Pageable pageable) {
+        if (after != null) {
+            return ResponseEntity.ok(userService.getUsersSliceWithinAfter(fromDate, toDate, UserCursor.parse(after), pageable));
+        }
+        if (slice) {
+            return ResponseEntity.ok(userService.getUsersSliceWithin(fromDate, toDate, pageable));
+        }
         Page<User> allUsers = userService.getAllUsersWithin(fromDate, toDate, pageable);
         return ResponseEntity.ok(allUsers);
     }
 
+    @GetMapping("/by-email")
+    public ResponseEntity<User> getUserByEmail(@RequestParam(name = "email") String email) {
+        return ResponseEntity.ok(userService.getUserByEmail(email));
+    }
+
     @PostMapping
     public ResponseEntity<Void> createUser(@Validated(PutValidation.class) @RequestBody UserRequest userRequest,
                                            UriComponentsBuilder uriBuilder) {
@@ -63,7 +104,7 @@ public class UserController {
     @PatchMapping("/{id}")
     public ResponseEntity<Void> patchUser(@PathVariable Long id,
                                           @Validated(PatchValidation.class) @RequestBody UserRequest userRequest) {
-        userService.patchUpdateUser(id, userRequest);
+        patchCoalescer.patchUpdateUser(id, userRequest);
         return ResponseEntity.noContent().build();
     }
 
@@ -73,4 +114,16 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> deleteUsers(@RequestBody UserCriteria criteria) {
+        int deleted = userService.deleteUsers(criteria);
+        return ResponseEntity.ok(new BulkResult(deleted));
+    }
+
+    @PostMapping("/bulk/patch")
+    public ResponseEntity<BulkResult> patchUsers(@Validated(PatchValidation.class) @RequestBody BulkPatchRequest request) {
+        int patched = userService.patchUsers(request.getCriteria(), request.getPatch());
+        return ResponseEntity.ok(new BulkResult(patched));
+    }
+
 }
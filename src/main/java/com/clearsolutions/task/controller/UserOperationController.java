@@ -0,0 +1,28 @@
+package com.clearsolutions.task.controller;
+
+import com.clearsolutions.task.dto.UserOperation;
+import com.clearsolutions.task.dto.UserOperationResult;
+import com.clearsolutions.task.service.UserOperationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/users")
+public class UserOperationController {
+
+    private final UserOperationService userOperationService;
+
+    public UserOperationController(UserOperationService userOperationService) {
+        this.userOperationService = userOperationService;
+    }
+
+    @PostMapping("/ops")
+    public ResponseEntity<List<UserOperationResult>> executeOperations(@RequestBody List<UserOperation> operations) {
+        return ResponseEntity.ok(userOperationService.execute(operations));
+    }
+}
@@ -0,0 +1,21 @@
+package com.clearsolutions.task.dto;
+
+import com.clearsolutions.task.validation.PatchValidation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkPatchRequest {
+
+    @NotNull(message = "Criteria shouldn't be empty", groups = {PatchValidation.class})
+    private UserCriteria criteria;
+
+    @NotNull(message = "Patch shouldn't be empty", groups = {PatchValidation.class})
+    @Valid
+    private UserRequest patch;
+}
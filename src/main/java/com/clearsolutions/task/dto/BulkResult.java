@@ -0,0 +1,4 @@
+package com.clearsolutions.task.dto;
+
+public record BulkResult(int affected) {
+}
@@ -0,0 +1,18 @@
+package com.clearsolutions.task.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserCriteria {
+
+    private List<Long> ids;
+    private LocalDate from;
+    private LocalDate to;
+}
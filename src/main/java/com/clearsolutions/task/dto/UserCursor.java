@@ -0,0 +1,20 @@
+package com.clearsolutions.task.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// Position of the last user of a keyset page, sent back by the client as "after=<birthDate>,<id>".
+public record UserCursor(LocalDate birthDate, Long id) {
+
+    public static UserCursor parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("\"after\" should be <birthDate>,<id>");
+        }
+        try {
+            return new UserCursor(LocalDate.parse(parts[0].trim()), Long.parseLong(parts[1].trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("\"after\" should be <birthDate>,<id>");
+        }
+    }
+}
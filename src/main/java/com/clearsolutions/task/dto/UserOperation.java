@@ -0,0 +1,21 @@
+package com.clearsolutions.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserOperation {
+
+    public enum Type {
+        CREATE, PUT, PATCH, DELETE
+    }
+
+    @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES)
+    private Type op;
+    private Long id;
+    private UserRequest body;
+}
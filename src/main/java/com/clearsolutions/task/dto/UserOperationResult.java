@@ -0,0 +1,9 @@
+package com.clearsolutions.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserOperationResult(int index, int status, Long id, Map<String, String> errors) {
+}
@@ -0,0 +1,28 @@
+package com.clearsolutions.task.event;
+
+import com.clearsolutions.task.model.User;
+
+import java.time.LocalDate;
+
+public record UserChangedEvent(Long id, LocalDate previousBirthDate, LocalDate birthDate) {
+
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(user.getId(), null, user.getBirthDate());
+    }
+
+    public static UserChangedEvent updated(LocalDate previousBirthDate, User user) {
+        return new UserChangedEvent(user.getId(), previousBirthDate, user.getBirthDate());
+    }
+
+    public static UserChangedEvent deleted(User user) {
+        return new UserChangedEvent(user.getId(), user.getBirthDate(), null);
+    }
+
+    public boolean isCreation() {
+        return previousBirthDate == null;
+    }
+
+    public boolean isDeletion() {
+        return birthDate == null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.clearsolutions.task.event;
+
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.repository.BirthDateSpan;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// ids is null when users were selected by birth date range only; per-id caches are then cleared as a whole.
+public record UsersBulkChangedEvent(List<Long> ids,
+                                    LocalDate minBirthDate,
+                                    LocalDate maxBirthDate,
+                                    LocalDate birthDate,
+                                    int deleted) {
+
+    public static UsersBulkChangedEvent patched(UserCriteria criteria, BirthDateSpan span, LocalDate birthDate) {
+        return new UsersBulkChangedEvent(criteria.getIds(), span.min(), span.max(), birthDate, 0);
+    }
+
+    public static UsersBulkChangedEvent deleted(UserCriteria criteria, BirthDateSpan span, int deleted) {
+        return new UsersBulkChangedEvent(criteria.getIds(), span.min(), span.max(), null, deleted);
+    }
+
+    public boolean allIds() {
+        return ids == null;
+    }
+}
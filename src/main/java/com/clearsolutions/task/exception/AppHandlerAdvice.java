@@ -1,6 +1,7 @@
 package com.clearsolutions.task.exception;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -24,7 +25,8 @@ public class AppHandlerAdvice {
                 .stream()
                 .collect(Collectors.toMap(
                         FieldError::getField,
-                        fieldError -> fieldError.getDefaultMessage() != null ? fieldError.getDefaultMessage() : ""));
+                        fieldError -> fieldError.getDefaultMessage() != null ? fieldError.getDefaultMessage() : "",
+                        (first, second) -> first));
         return ResponseEntity.badRequest().body(collect);
     }
 
@@ -50,6 +52,15 @@ public class AppHandlerAdvice {
         return ResponseEntity.badRequest().body(map);
     }
 
+    // Two writers read the same version of a user; the one that commits second has to re-read and retry.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleException(OptimisticLockingFailureException e) {
+        Map<String, String> map = new HashMap<>();
+        String message = "User was modified concurrently, retry the request";
+        map.put("Error", message);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(map);
+    }
+
     @ExceptionHandler({DateTimeParseException.class})
     public ResponseEntity<Object> handleException(DateTimeParseException e) {
         Map<String, String> map = new HashMap<>();
@@ -0,0 +1,56 @@
+package com.clearsolutions.task.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Power-of-two buckets: recording is a few atomic increments, percentiles are reported as the upper bound
+// of their bucket (at most 2x the real value, capped by the maximum).
+class CostHistogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long value) {
+        long sample = Math.max(0, value);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(sample));
+        count.increment();
+        sum.add(sample);
+        max.accumulate(sample);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int bucket = 0; bucket < buckets.length(); bucket++) {
+            seen += buckets.get(bucket);
+            if (seen >= rank) {
+                long upperBound = bucket == 0 ? 0 : bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                return Math.min(upperBound, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    Map<String, Object> snapshot() {
+        long total = count.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("mean", total == 0 ? 0 : sum.sum() / total);
+        snapshot.put("p50", percentile(0.50));
+        snapshot.put("p99", percentile(0.99));
+        snapshot.put("max", max.get());
+        return snapshot;
+    }
+}
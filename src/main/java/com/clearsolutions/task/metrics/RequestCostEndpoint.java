@@ -0,0 +1,33 @@
+package com.clearsolutions.task.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "requestcost")
+public class RequestCostEndpoint {
+
+    private final RequestCostRecorder requestCostRecorder;
+
+    public RequestCostEndpoint(RequestCostRecorder requestCostRecorder) {
+        this.requestCostRecorder = requestCostRecorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("routes", requestCostRecorder.stats());
+        return stats;
+    }
+
+    // Clears the histograms, e.g. between the baseline and the candidate run of a load test.
+    @DeleteOperation
+    public void reset() {
+        requestCostRecorder.reset();
+    }
+}
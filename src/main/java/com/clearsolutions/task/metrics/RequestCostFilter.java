@@ -0,0 +1,118 @@
+package com.clearsolutions.task.metrics;
+
+import com.clearsolutions.task.admission.AdmissionControlFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+// Records the CPU time and the bytes allocated by the request thread, per route and status. The request is
+// served on a single thread, so the thread counters cover the handler, the service and the serialization.
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    static final String UNMATCHED_ROUTE = "UNMATCHED";
+    static final String SHED_ROUTE = "SHED";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final RequestCostRecorder recorder;
+    private final boolean serverTiming;
+    private final boolean supported;
+
+    public RequestCostFilter(RequestCostRecorder recorder, boolean serverTiming) {
+        this.recorder = recorder;
+        this.serverTiming = serverTiming;
+        this.supported = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled()
+                && THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!supported) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        long allocatedStart = THREADS.getCurrentThreadAllocatedBytes();
+        ServerTimingResponse timedResponse = serverTiming
+                ? new ServerTimingResponse(response, cpuStart, allocatedStart)
+                : null;
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, timedResponse != null ? timedResponse : response);
+            if (timedResponse != null) {
+                timedResponse.addServerTiming();
+            }
+            status = response.getStatus();
+        } finally {
+            long cpuNanos = THREADS.getCurrentThreadCpuTime() - cpuStart;
+            long allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - allocatedStart;
+            recorder.record(request.getMethod(), route(request), status, cpuNanos, allocatedBytes);
+        }
+    }
+
+    // Requests rejected by admission control never reach a handler; they are kept apart from unmatched paths.
+    private static String route(HttpServletRequest request) {
+        if (request.getAttribute(AdmissionControlFilter.SHED_ATTRIBUTE) != null) {
+            return SHED_ROUTE;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNMATCHED_ROUTE;
+    }
+
+    // Headers cannot be added once the body is being written, so the Server-Timing header reports the cost up
+    // to the first write (or to the end of the request for responses without a body). The recorded histograms
+    // always cover the whole request.
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final long cpuStart;
+        private final long allocatedStart;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, long cpuStart, long allocatedStart) {
+            super(response);
+            this.cpuStart = cpuStart;
+            this.allocatedStart = allocatedStart;
+        }
+
+        void addServerTiming() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            double cpuMillis = (THREADS.getCurrentThreadCpuTime() - cpuStart) / 1e6;
+            long allocatedBytes = THREADS.getCurrentThreadAllocatedBytes() - allocatedStart;
+            addHeader("Server-Timing", String.format(Locale.ROOT, "cpu;dur=%.3f, alloc;desc=\"%d bytes\"",
+                    cpuMillis, allocatedBytes));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+    }
+}
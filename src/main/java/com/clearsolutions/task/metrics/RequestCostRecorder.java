@@ -0,0 +1,52 @@
+package com.clearsolutions.task.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class RequestCostRecorder {
+
+    private record RouteKey(String method, String route, int status) {
+    }
+
+    private record RouteCost(CostHistogram cpuNanos, CostHistogram allocatedBytes) {
+    }
+
+    private final Map<RouteKey, RouteCost> costs = new ConcurrentHashMap<>();
+
+    public void record(String method, String route, int status, long cpuNanos, long allocatedBytes) {
+        RouteCost cost = costs.computeIfAbsent(new RouteKey(method, route, status),
+                key -> new RouteCost(new CostHistogram(), new CostHistogram()));
+        cost.cpuNanos().record(cpuNanos);
+        cost.allocatedBytes().record(allocatedBytes);
+    }
+
+    public List<Map<String, Object>> stats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        costs.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing(RouteKey::route)
+                        .thenComparing(RouteKey::method)
+                        .thenComparingInt(RouteKey::status)))
+                .forEach(entry -> {
+                    Map<String, Object> route = new LinkedHashMap<>();
+                    route.put("route", entry.getKey().route());
+                    route.put("method", entry.getKey().method());
+                    route.put("status", entry.getKey().status());
+                    route.put("count", entry.getValue().cpuNanos().count());
+                    route.put("cpuNanos", entry.getValue().cpuNanos().snapshot());
+                    route.put("allocatedBytes", entry.getValue().allocatedBytes().snapshot());
+                    stats.add(route);
+                });
+        return stats;
+    }
+
+    public void reset() {
+        costs.clear();
+    }
+}
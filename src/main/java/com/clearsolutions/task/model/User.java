@@ -1,29 +1,58 @@
 package com.clearsolutions.task.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 @Data
 @Builder
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "app_user")
+@Table(name = "app_user", indexes = {
+        @Index(name = "idx_app_user_birth_date_id", columnList = "birth_date, id"),
+        @Index(name = "idx_app_user_last_name_id", columnList = "last_name, id")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
     @Column(unique = true)
     private String email;
+    // Trimmed, lower-cased email kept in sync with email; its unique index makes emails unique ignoring case.
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @Column(name = "email_normalized", unique = true)
+    private String emailNormalized;
     @Column(nullable = false)
     private String firstName;
-    @Column(nullable = false)
+    @Column(name = "last_name", nullable = false)
     private String lastName;
-    @Column(nullable = false)
+    @Column(name = "birth_date", nullable = false)
     private LocalDate birthDate;
     private String address;
     private String phoneNumber;
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
 
+    // Users created through the builder bypass setEmail.
+    @PrePersist
+    @PreUpdate
+    void syncEmailNormalized() {
+        this.emailNormalized = normalizeEmail(email);
+    }
 }
\ No newline at end of file
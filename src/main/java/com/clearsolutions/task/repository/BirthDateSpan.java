@@ -0,0 +1,6 @@
+package com.clearsolutions.task.repository;
+
+import java.time.LocalDate;
+
+public record BirthDateSpan(LocalDate min, LocalDate max) {
+}
@@ -0,0 +1,14 @@
+package com.clearsolutions.task.repository;
+
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserRequest;
+
+import java.util.List;
+
+public interface UserBulkRepository {
+    BirthDateSpan findBirthDateSpan(List<Long> ids);
+
+    int deleteByCriteria(UserCriteria criteria);
+
+    int patchByCriteria(UserCriteria criteria, UserRequest patch);
+}
@@ -0,0 +1,76 @@
+package com.clearsolutions.task.repository;
+
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public BirthDateSpan findBirthDateSpan(List<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BirthDateSpan> query = cb.createQuery(BirthDateSpan.class);
+        Root<User> root = query.from(User.class);
+        query.select(cb.construct(BirthDateSpan.class,
+                        cb.least(root.<LocalDate>get("birthDate")),
+                        cb.greatest(root.<LocalDate>get("birthDate"))))
+                .where(root.get("id").in(ids));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public int deleteByCriteria(UserCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<User> delete = cb.createCriteriaDelete(User.class);
+        Root<User> root = delete.from(User.class);
+        delete.where(toPredicates(cb, root, criteria));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public int patchByCriteria(UserCriteria criteria, UserRequest patch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = cb.createCriteriaUpdate(User.class);
+        Root<User> root = update.from(User.class);
+        if (patch.getFirstName() != null) {
+            update.set(root.get("firstName"), patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            update.set(root.get("lastName"), patch.getLastName());
+        }
+        if (patch.getBirthDate() != null) {
+            update.set(root.get("birthDate"), patch.getBirthDate());
+        }
+        if (patch.getAddress() != null) {
+            update.set(root.get("address"), patch.getAddress());
+        }
+        if (patch.getPhoneNumber() != null) {
+            update.set(root.get("phoneNumber"), patch.getPhoneNumber());
+        }
+        // Bulk updates bypass Hibernate's optimistic locking, so the version is bumped explicitly.
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(toPredicates(cb, root, criteria));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private Predicate[] toPredicates(CriteriaBuilder cb, Root<User> root, UserCriteria criteria) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getIds() != null) {
+            predicates.add(root.get("id").in(criteria.getIds()));
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add(cb.between(root.<LocalDate>get("birthDate"), criteria.getFrom(), criteria.getTo()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
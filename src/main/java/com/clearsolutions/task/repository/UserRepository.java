@@ -3,10 +3,37 @@ package com.clearsolutions.task.repository;
 import com.clearsolutions.task.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBulkRepository {
     Page<User> findAllByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    @Query("select u from User u")
+    Slice<User> findSliceBy(Pageable pageable);
+
+    Slice<User> findSliceByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    // Keyset pages: seek past the (birthDate, id) of the last row of the previous page on the
+    // (birth_date, id) index instead of skipping an OFFSET, so deep pages cost the same as the first one.
+    @Query("select u from User u where u.birthDate > :birthDate or (u.birthDate = :birthDate and u.id > :id)"
+            + " order by u.birthDate, u.id")
+    Slice<User> findSliceAfter(@Param("birthDate") LocalDate birthDate, @Param("id") Long id, Pageable pageable);
+
+    @Query("select u from User u where u.birthDate between :from and :to"
+            + " and (u.birthDate > :birthDate or (u.birthDate = :birthDate and u.id > :id))"
+            + " order by u.birthDate, u.id")
+    Slice<User> findSliceWithinAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                     @Param("birthDate") LocalDate birthDate, @Param("id") Long id,
+                                     Pageable pageable);
+
+    long countByBirthDateBetween(LocalDate from, LocalDate to);
+
+    // Equality on the unique email_normalized index; pass an email normalized with User.normalizeEmail.
+    Optional<User> findByEmailNormalized(String emailNormalized);
 }
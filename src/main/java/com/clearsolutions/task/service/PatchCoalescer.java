@@ -0,0 +1,183 @@
+package com.clearsolutions.task.service;
+
+import com.clearsolutions.task.dto.UserRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Merges PATCH requests for the same user into a single patchUpdateUser call, i.e. one select and one UPDATE.
+// A PATCH for an id without a write in progress is applied right away. PATCHes arriving while a write for the
+// id is in progress are collected into a batch, written once that write is done and at least one window after
+// the batch opened. Fields are merged in arrival order, so the last request setting a field wins. If the
+// merged write fails, the batch is replayed one PATCH at a time, so every request gets its own outcome.
+@Service
+public class PatchCoalescer {
+
+    private static class PendingPatch {
+
+        private final UserRequest merged = new UserRequest();
+        private final List<UserRequest> patches = new ArrayList<>();
+        private final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        private boolean due;
+
+        void add(UserRequest patch, CompletableFuture<Void> waiter) {
+            Optional.ofNullable(patch.getEmail()).ifPresent(merged::setEmail);
+            Optional.ofNullable(patch.getFirstName()).ifPresent(merged::setFirstName);
+            Optional.ofNullable(patch.getLastName()).ifPresent(merged::setLastName);
+            Optional.ofNullable(patch.getBirthDate()).ifPresent(merged::setBirthDate);
+            Optional.ofNullable(patch.getAddress()).ifPresent(merged::setAddress);
+            Optional.ofNullable(patch.getPhoneNumber()).ifPresent(merged::setPhoneNumber);
+            patches.add(patch);
+            waiters.add(waiter);
+        }
+    }
+
+    // Present while a write for the id is in progress or a batch for it is waiting; only changed in compute().
+    private static class UserPatches {
+
+        private boolean writing;
+        private PendingPatch batch;
+    }
+
+    private final UserService userService;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, UserPatches> pending = new ConcurrentHashMap<>();
+
+    public PatchCoalescer(UserService userService,
+                          @Value("${users.patch-coalescing.window:5ms}") Duration window,
+                          @Value("${users.patch-coalescing.threads:4}") int threads) {
+        this.userService = userService;
+        this.windowNanos = window.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "patch-coalescer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void patchUpdateUser(Long id, UserRequest patch) {
+        if (windowNanos <= 0) {
+            userService.patchUpdateUser(id, patch);
+            return;
+        }
+        try {
+            submit(id, patch).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    CompletableFuture<Void> submit(Long id, UserRequest patch) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        boolean[] direct = new boolean[1];
+        pending.compute(id, (key, patches) -> {
+            if (patches == null) {
+                patches = new UserPatches();
+                patches.writing = true;
+                direct[0] = true;
+                return patches;
+            }
+            if (patches.batch == null) {
+                PendingPatch batch = new PendingPatch();
+                patches.batch = batch;
+                scheduler.schedule(() -> windowElapsed(id, batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            patches.batch.add(patch, waiter);
+            return patches;
+        });
+        if (direct[0]) {
+            try {
+                apply(id, patch, waiter);
+            } finally {
+                writeDone(id);
+            }
+        }
+        return waiter;
+    }
+
+    private void windowElapsed(Long id, PendingPatch batch) {
+        boolean[] flush = new boolean[1];
+        pending.computeIfPresent(id, (key, patches) -> {
+            batch.due = true;
+            if (patches.batch == batch && !patches.writing) {
+                patches.batch = null;
+                patches.writing = true;
+                flush[0] = true;
+            }
+            return patches;
+        });
+        if (flush[0]) {
+            flush(id, batch);
+        }
+    }
+
+    private void writeDone(Long id) {
+        PendingPatch[] next = new PendingPatch[1];
+        pending.computeIfPresent(id, (key, patches) -> {
+            patches.writing = false;
+            if (patches.batch == null) {
+                return null;
+            }
+            if (patches.batch.due) {
+                next[0] = patches.batch;
+                patches.batch = null;
+                patches.writing = true;
+            }
+            return patches;
+        });
+        if (next[0] != null) {
+            scheduler.execute(() -> flush(id, next[0]));
+        }
+    }
+
+    private void flush(Long id, PendingPatch batch) {
+        try {
+            if (batch.patches.size() == 1) {
+                apply(id, batch.patches.get(0), batch.waiters.get(0));
+                return;
+            }
+            try {
+                userService.patchUpdateUser(id, batch.merged);
+                batch.waiters.forEach(waiter -> waiter.complete(null));
+            } catch (RuntimeException | Error e) {
+                for (int i = 0; i < batch.patches.size(); i++) {
+                    apply(id, batch.patches.get(i), batch.waiters.get(i));
+                }
+            }
+        } finally {
+            writeDone(id);
+        }
+    }
+
+    private void apply(Long id, UserRequest patch, CompletableFuture<Void> waiter) {
+        try {
+            userService.patchUpdateUser(id, patch);
+            waiter.complete(null);
+        } catch (RuntimeException | Error e) {
+            waiter.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
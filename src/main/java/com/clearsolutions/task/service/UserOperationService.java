@@ -0,0 +1,148 @@
+package com.clearsolutions.task.service;
+
+import com.clearsolutions.task.dto.UserOperation;
+import com.clearsolutions.task.dto.UserOperationResult;
+import com.clearsolutions.task.exception.UserAlreadyExistsException;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import com.clearsolutions.task.model.User;
+import com.clearsolutions.task.validation.PatchValidation;
+import com.clearsolutions.task.validation.PutValidation;
+import com.clearsolutions.task.validation.UserRequestValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class UserOperationService {
+
+    private final UserService userService;
+    private final UserRequestValidator userRequestValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxOperations;
+
+    public UserOperationService(UserService userService,
+                                UserRequestValidator userRequestValidator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${users.ops.chunk-size:100}") int chunkSize,
+                                @Value("${users.ops.max-operations:1000}") int maxOperations) {
+        this.userService = userService;
+        this.userRequestValidator = userRequestValidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxOperations = maxOperations;
+    }
+
+    public List<UserOperationResult> execute(List<UserOperation> operations) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Request cannot contain more than " + maxOperations + " operations");
+        }
+        UserOperationResult[] results = new UserOperationResult[operations.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            Map<String, String> errors = validate(operations.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = new UserOperationResult(i, HttpStatus.BAD_REQUEST.value(), null, errors);
+            }
+        }
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            executeChunk(operations, valid.subList(from, Math.min(from + chunkSize, valid.size())), results);
+        }
+        return List.of(results);
+    }
+
+    // A chunk commits as one transaction. If the commit fails (e.g. a duplicate email found on flush),
+    // the chunk is rolled back and replayed one operation per transaction to attribute the failure.
+    private void executeChunk(List<UserOperation> operations, List<Integer> chunk, UserOperationResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int index : chunk) {
+                    results[index] = apply(index, operations.get(index));
+                }
+            });
+        } catch (RuntimeException e) {
+            for (int index : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> results[index] = apply(index, operations.get(index)));
+                } catch (RuntimeException operationException) {
+                    results[index] = failure(index, operationException);
+                }
+            }
+        }
+    }
+
+    private UserOperationResult apply(int index, UserOperation operation) {
+        try {
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    User user = userService.createUser(operation.getBody());
+                    return new UserOperationResult(index, HttpStatus.CREATED.value(), user.getId(), null);
+                }
+                case PUT -> userService.updateUser(operation.getId(), operation.getBody());
+                case PATCH -> userService.patchUpdateUser(operation.getId(), operation.getBody());
+                case DELETE -> userService.deleteUserById(operation.getId());
+            }
+            return new UserOperationResult(index, HttpStatus.NO_CONTENT.value(), operation.getId(), null);
+        } catch (UserNotFoundException | UserAlreadyExistsException | IllegalArgumentException e) {
+            return failure(index, e);
+        }
+    }
+
+    private UserOperationResult failure(int index, RuntimeException e) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (e instanceof UserNotFoundException) {
+            errors.put("Error", e.getMessage());
+            return new UserOperationResult(index, HttpStatus.NOT_FOUND.value(), null, errors);
+        }
+        if (e instanceof UserAlreadyExistsException || e instanceof IllegalArgumentException) {
+            errors.put("Error", e.getMessage());
+            return new UserOperationResult(index, HttpStatus.BAD_REQUEST.value(), null, errors);
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            errors.put("Error", "User with this email already exists");
+            return new UserOperationResult(index, HttpStatus.BAD_REQUEST.value(), null, errors);
+        }
+        if (e instanceof OptimisticLockingFailureException) {
+            errors.put("Error", "User was modified concurrently, retry the request");
+            return new UserOperationResult(index, HttpStatus.CONFLICT.value(), null, errors);
+        }
+        errors.put("Error", "Operation failed");
+        return new UserOperationResult(index, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, errors);
+    }
+
+    private Map<String, String> validate(UserOperation operation) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (operation == null) {
+            errors.put("Error", "Operation shouldn't be null");
+            return errors;
+        }
+        if (operation.getOp() == null) {
+            errors.put("op", "Operation shouldn't be empty");
+            return errors;
+        }
+        if (operation.getOp() != UserOperation.Type.CREATE && operation.getId() == null) {
+            errors.put("id", "Id shouldn't be empty");
+        }
+        if (operation.getOp() == UserOperation.Type.DELETE) {
+            return errors;
+        }
+        if (operation.getBody() == null) {
+            errors.put("body", "Body shouldn't be empty");
+            return errors;
+        }
+        Class<?> group = operation.getOp() == UserOperation.Type.PATCH ? PatchValidation.class : PutValidation.class;
+        userRequestValidator.validate(operation.getBody(), group).forEach(errors::putIfAbsent);
+        return errors;
+    }
+}
@@ -0,0 +1,33 @@
+package com.clearsolutions.task.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+// Shared by the servlet and reactive services, which page over the same app_user indexes.
+public final class UserPageRequests {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("lastName", "birthDate", "email", "id");
+
+    private UserPageRequests() {
+    }
+
+    // Only properties backed by an index on User may be sorted on. The id is always appended as the last
+    // order, in the direction of the previous one, so ties are broken the same way the composite indexes are.
+    public static PageRequest toIndexedPageRequest(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        Sort.Direction tieBreakDirection = Sort.Direction.ASC;
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Sorting by \"" + order.getProperty() + "\" is not supported");
+            }
+            tieBreakDirection = order.getDirection();
+        }
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(tieBreakDirection, "id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+}
@@ -1,47 +1,118 @@
 package com.clearsolutions.task.service;
 
+import com.clearsolutions.task.cache.UserCounter;
+import com.clearsolutions.task.cache.UserEmailCache;
+import com.clearsolutions.task.cache.UserQueryCache;
+import com.clearsolutions.task.cache.UserQueryKey;
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserCursor;
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.event.UsersBulkChangedEvent;
 import com.clearsolutions.task.exception.UserNotFoundException;
 import com.clearsolutions.task.model.User;
 import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.repository.BirthDateSpan;
 import com.clearsolutions.task.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Objects;
 import java.util.Optional;
 
+import static com.clearsolutions.task.service.UserPageRequests.toIndexedPageRequest;
+
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserQueryCache userQueryCache;
+    private final UserCounter userCounter;
+    private final UserEmailCache userEmailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository,
+                       UserQueryCache userQueryCache,
+                       UserCounter userCounter,
+                       UserEmailCache userEmailCache,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userQueryCache = userQueryCache;
+        this.userCounter = userCounter;
+        this.userEmailCache = userEmailCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<User> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        PageRequest pageRequest = toIndexedPageRequest(pageable);
+        return userQueryCache.getOrLoad(UserQueryKey.of(pageRequest), () -> PageableExecutionUtils.getPage(
+                userRepository.findSliceBy(pageRequest).getContent(),
+                pageRequest,
+                () -> userCounter.total(userRepository::count)));
+    }
+
+    public Slice<User> getUsersSlice(Pageable pageable) {
+        return userRepository.findSliceBy(toIndexedPageRequest(pageable));
     }
 
     public Page<User> getAllUsersWithin(LocalDate fromDate, LocalDate toDate, Pageable pageable) {
         if (fromDate.isAfter(toDate)) {
             throw new IllegalArgumentException("\"From\" date cannot be after \"To\" date");
         }
-        return userRepository.findAllByBirthDateBetween(fromDate, toDate, pageable);
+        PageRequest pageRequest = toIndexedPageRequest(pageable);
+        return userQueryCache.getOrLoad(UserQueryKey.of(fromDate, toDate, pageRequest), () -> PageableExecutionUtils.getPage(
+                userRepository.findSliceByBirthDateBetween(fromDate, toDate, pageRequest).getContent(),
+                pageRequest,
+                () -> userQueryCache.countOrLoad(fromDate, toDate,
+                        () -> userRepository.countByBirthDateBetween(fromDate, toDate))));
+    }
+
+    public Slice<User> getUsersSliceWithin(LocalDate fromDate, LocalDate toDate, Pageable pageable) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("\"From\" date cannot be after \"To\" date");
+        }
+        return userRepository.findSliceByBirthDateBetween(fromDate, toDate, toIndexedPageRequest(pageable));
+    }
+
+    public Slice<User> getUsersSliceAfter(UserCursor after, Pageable pageable) {
+        return userRepository.findSliceAfter(after.birthDate(), after.id(), toKeysetPageRequest(pageable));
+    }
+
+    public Slice<User> getUsersSliceWithinAfter(LocalDate fromDate, LocalDate toDate, UserCursor after, Pageable pageable) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("\"From\" date cannot be after \"To\" date");
+        }
+        return userRepository.findSliceWithinAfter(fromDate, toDate, after.birthDate(), after.id(),
+                toKeysetPageRequest(pageable));
+    }
+
+    public User getUserByEmail(String email) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("Email shouldn't be blank");
+        }
+        String normalizedEmail = User.normalizeEmail(email);
+        return userEmailCache.getOrLoad(normalizedEmail, () -> userRepository.findByEmailNormalized(normalizedEmail))
+                .orElseThrow(() -> new UserNotFoundException("User with email " + email + " not found"));
     }
 
     public User createUser(UserRequest userRequest) {
         User newUser = mapUserRequestToNewUser(userRequest);
-        return userRepository.save(newUser);
+        User savedUser = userRepository.save(newUser);
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
+        return savedUser;
     }
 
     public void updateUser(Long id, UserRequest userRequest) {
         User user = userRepository
                 .findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with id " + id + " not found"));
+        LocalDate previousBirthDate = user.getBirthDate();
 
         mapUserRequestToUser(userRequest, user);
         if (Objects.isNull(userRequest.getAddress())) {
@@ -52,14 +123,17 @@ public class UserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(previousBirthDate, user));
     }
 
     public void patchUpdateUser(Long id, UserRequest userRequest) {
         User user = userRepository
                 .findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with id " + id + " not found"));
+        LocalDate previousBirthDate = user.getBirthDate();
         mapUserRequestToUser(userRequest, user);
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(previousBirthDate, user));
     }
 
     public void deleteUserById(Long id) {
@@ -67,6 +141,68 @@ public class UserService {
                 .findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with id " + id + " not found"));
         userRepository.delete(user);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(user));
+    }
+
+    @Transactional
+    public int deleteUsers(UserCriteria criteria) {
+        validateCriteria(criteria);
+        BirthDateSpan span = affectedBirthDates(criteria);
+        int deleted = userRepository.deleteByCriteria(criteria);
+        eventPublisher.publishEvent(UsersBulkChangedEvent.deleted(criteria, span, deleted));
+        return deleted;
+    }
+
+    @Transactional
+    public int patchUsers(UserCriteria criteria, UserRequest patch) {
+        validateCriteria(criteria);
+        if (patch.getEmail() != null) {
+            throw new IllegalArgumentException("Email cannot be updated in bulk");
+        }
+        if (patch.getFirstName() == null && patch.getLastName() == null && patch.getBirthDate() == null
+                && patch.getAddress() == null && patch.getPhoneNumber() == null) {
+            throw new IllegalArgumentException("Patch should contain at least one field");
+        }
+        BirthDateSpan span = affectedBirthDates(criteria);
+        int patched = userRepository.patchByCriteria(criteria, patch);
+        eventPublisher.publishEvent(UsersBulkChangedEvent.patched(criteria, span, patch.getBirthDate()));
+        return patched;
+    }
+
+    private void validateCriteria(UserCriteria criteria) {
+        boolean hasIds = criteria.getIds() != null;
+        boolean hasRange = criteria.getFrom() != null || criteria.getTo() != null;
+        if (!hasIds && !hasRange) {
+            throw new IllegalArgumentException("Criteria should contain ids or a birth date range");
+        }
+        if (hasIds && criteria.getIds().isEmpty()) {
+            throw new IllegalArgumentException("Ids shouldn't be empty");
+        }
+        if (hasRange) {
+            if (criteria.getFrom() == null || criteria.getTo() == null) {
+                throw new IllegalArgumentException("Both \"From\" and \"To\" dates are required");
+            }
+            if (criteria.getFrom().isAfter(criteria.getTo())) {
+                throw new IllegalArgumentException("\"From\" date cannot be after \"To\" date");
+            }
+        }
+    }
+
+    // A range bounds the affected birth dates by itself; for an id list only their min and max are read,
+    // before the statement changes or removes the rows.
+    private BirthDateSpan affectedBirthDates(UserCriteria criteria) {
+        if (criteria.getFrom() != null) {
+            return new BirthDateSpan(criteria.getFrom(), criteria.getTo());
+        }
+        return userRepository.findBirthDateSpan(criteria.getIds());
+    }
+
+    // Keyset pages are always ordered by (birthDate, id), the key the cursor points into; only the size is used.
+    private PageRequest toKeysetPageRequest(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("Sorting is not supported together with \"after\"");
+        }
+        return PageRequest.ofSize(pageable.getPageSize());
     }
 
     private User mapUserRequestToNewUser(UserRequest userRequest) {
@@ -0,0 +1,50 @@
+package com.clearsolutions.task.validation;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+// Today's date and the latest birth date that satisfies the minimum age, recomputed only when the day
+// changes instead of calling LocalDate.now() for every validated value.
+public class AgeCutoff {
+
+    private record Day(LocalDate today, LocalDate latestBirthDate, long validUntilMillis) {
+    }
+
+    private final int minimumAge;
+    private final Clock clock;
+    private volatile Day day;
+
+    public AgeCutoff(int minimumAge) {
+        this(minimumAge, Clock.systemDefaultZone());
+    }
+
+    public AgeCutoff(int minimumAge, Clock clock) {
+        this.minimumAge = minimumAge;
+        this.clock = clock;
+    }
+
+    public LocalDate today() {
+        return currentDay().today();
+    }
+
+    public LocalDate latestBirthDate() {
+        return currentDay().latestBirthDate();
+    }
+
+    public boolean isOldEnough(LocalDate birthDate) {
+        return !birthDate.isAfter(latestBirthDate());
+    }
+
+    private Day currentDay() {
+        Day current = day;
+        if (current == null || clock.millis() >= current.validUntilMillis()) {
+            LocalDate today = LocalDate.now(clock);
+            ZoneId zone = clock.getZone();
+            long validUntil = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            current = new Day(today, today.minusYears(minimumAge), validUntil);
+            day = current;
+        }
+        return current;
+    }
+}
@@ -13,12 +13,18 @@ public class AgeValidator implements ConstraintValidator<ValidAge, LocalDate> {
     @Value("${request.age}")
     private int validAge;
 
+    private AgeCutoff ageCutoff;
+
+    @Override
+    public void initialize(ValidAge constraintAnnotation) {
+        ageCutoff = new AgeCutoff(validAge);
+    }
+
     @Override
     public boolean isValid(LocalDate birthDate, ConstraintValidatorContext context) {
         if (birthDate == null) {
             return true;
         }
-        int age = LocalDate.now().getYear() - birthDate.getYear();
-        return age >= validAge;
+        return ageCutoff.isOldEnough(birthDate);
     }
 }
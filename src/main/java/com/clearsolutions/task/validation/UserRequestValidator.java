@@ -0,0 +1,232 @@
+package com.clearsolutions.task.validation;
+
+import com.clearsolutions.task.dto.UserRequest;
+import jakarta.validation.ConstraintValidatorFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.MessageInterpolator;
+import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import org.hibernate.validator.internal.constraintvalidators.bv.EmailValidator;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Validates UserRequest against constraints compiled once per validation group from the Bean Validation
+// metadata, so validating a request is a plain list of getter + predicate checks. @Email uses the provider's
+// constraint validator, created and initialized once; constraints it does not know are still delegated to the
+// Bean Validation provider. It only supports UserRequest and is registered on the binders of the user
+// controllers, not as the global MVC validator.
+public class UserRequestValidator implements SmartValidator {
+
+    private static final Map<String, Function<UserRequest, Object>> PROPERTIES = Map.of(
+            "email", UserRequest::getEmail,
+            "firstName", UserRequest::getFirstName,
+            "lastName", UserRequest::getLastName,
+            "birthDate", UserRequest::getBirthDate,
+            "address", UserRequest::getAddress,
+            "phoneNumber", UserRequest::getPhoneNumber);
+
+    // violation returns the error message for an invalid value and null for a valid one.
+    private record Check(String property, String code, Function<UserRequest, Object> getter,
+                         Function<Object, String> violation) {
+
+        String check(UserRequest userRequest) {
+            return violation.apply(getter.apply(userRequest));
+        }
+    }
+
+    private final Validator validator;
+    private final MessageInterpolator messageInterpolator;
+    private final ConstraintValidatorFactory constraintValidatorFactory;
+    private final AgeCutoff ageCutoff;
+    private final Map<Class<?>, List<Check>> checksByGroup = new ConcurrentHashMap<>();
+
+    public UserRequestValidator(ValidatorFactory validatorFactory, int validAge) {
+        this(validatorFactory, validAge, Clock.systemDefaultZone());
+    }
+
+    public UserRequestValidator(ValidatorFactory validatorFactory, int validAge, Clock clock) {
+        this.validator = validatorFactory.getValidator();
+        this.messageInterpolator = validatorFactory.getMessageInterpolator();
+        this.constraintValidatorFactory = validatorFactory.getConstraintValidatorFactory();
+        this.ageCutoff = new AgeCutoff(validAge, clock);
+        checksFor(PutValidation.class);
+        checksFor(PatchValidation.class);
+    }
+
+    public Map<String, String> validate(UserRequest userRequest, Class<?> group) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (Check check : checksFor(group)) {
+            if (!errors.containsKey(check.property())) {
+                String message = check.check(userRequest);
+                if (message != null) {
+                    errors.put(check.property(), message);
+                }
+            }
+        }
+        return errors;
+    }
+
+    public Map<Integer, Map<String, String>> validateAll(List<UserRequest> userRequests, Class<?> group) {
+        List<Check> checks = checksFor(group);
+        Map<Integer, Map<String, String>> errorsByIndex = new LinkedHashMap<>();
+        for (int i = 0; i < userRequests.size(); i++) {
+            UserRequest userRequest = userRequests.get(i);
+            Map<String, String> errors = null;
+            for (Check check : checks) {
+                if (errors != null && errors.containsKey(check.property())) {
+                    continue;
+                }
+                String message = check.check(userRequest);
+                if (message != null) {
+                    if (errors == null) {
+                        errors = new LinkedHashMap<>();
+                        errorsByIndex.put(i, errors);
+                    }
+                    errors.put(check.property(), message);
+                }
+            }
+        }
+        return errorsByIndex;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return UserRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        UserRequest userRequest = (UserRequest) target;
+        List<Class<?>> groups = new ArrayList<>();
+        for (Object hint : validationHints) {
+            if (hint instanceof Class<?> group) {
+                groups.add(group);
+            }
+        }
+        if (groups.isEmpty()) {
+            groups.add(Default.class);
+        }
+        for (Class<?> group : groups) {
+            for (Check check : checksFor(group)) {
+                if (errors.getFieldError(check.property()) == null) {
+                    String message = check.check(userRequest);
+                    if (message != null) {
+                        errors.rejectValue(check.property(), check.code(), message);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Check> checksFor(Class<?> group) {
+        return checksByGroup.computeIfAbsent(group, this::compile);
+    }
+
+    private List<Check> compile(Class<?> group) {
+        List<Check> checks = new ArrayList<>();
+        for (PropertyDescriptor property : validator.getConstraintsForClass(UserRequest.class).getConstrainedProperties()) {
+            String name = property.getPropertyName();
+            Function<UserRequest, Object> getter = PROPERTIES.get(name);
+            if (getter == null) {
+                throw new IllegalStateException("No getter registered for constrained property " + name);
+            }
+            for (ConstraintDescriptor<?> descriptor : property.findConstraints()
+                    .unorderedAndMatchingGroups(group)
+                    .getConstraintDescriptors()) {
+                checks.add(compile(name, getter, descriptor, group));
+            }
+        }
+        return List.copyOf(checks);
+    }
+
+    private Check compile(String property, Function<UserRequest, Object> getter, ConstraintDescriptor<?> descriptor,
+                          Class<?> group) {
+        Class<?> type = descriptor.getAnnotation().annotationType();
+        String code = type.getSimpleName();
+        String message = interpolate(descriptor);
+        Predicate<Object> valid = null;
+        if (type == NotNull.class) {
+            valid = value -> value != null;
+        } else if (type == NotBlank.class) {
+            valid = value -> value != null && !value.toString().trim().isEmpty();
+        } else if (type == Past.class) {
+            valid = value -> value == null || ((LocalDate) value).isBefore(ageCutoff.today());
+        } else if (type == ValidAge.class) {
+            valid = value -> value == null || ageCutoff.isOldEnough((LocalDate) value);
+        } else if (type == Email.class) {
+            EmailValidator emailValidator = constraintValidatorFactory.getInstance(EmailValidator.class);
+            emailValidator.initialize((Email) descriptor.getAnnotation());
+            valid = value -> emailValidator.isValid((CharSequence) value, null);
+        }
+        if (valid == null || message == null) {
+            return providerCheck(property, code, getter, descriptor, group);
+        }
+        Predicate<Object> compiled = valid;
+        return new Check(property, code, getter, value -> compiled.test(value) ? null : message);
+    }
+
+    private Check providerCheck(String property, String code, Function<UserRequest, Object> getter,
+                                ConstraintDescriptor<?> descriptor, Class<?> group) {
+        Class<?> type = descriptor.getAnnotation().annotationType();
+        return new Check(property, code, getter, value -> {
+            for (ConstraintViolation<UserRequest> violation
+                    : validator.validateValue(UserRequest.class, property, value, group)) {
+                if (violation.getConstraintDescriptor().getAnnotation().annotationType() == type) {
+                    return violation.getMessage();
+                }
+            }
+            return null;
+        });
+    }
+
+    // Messages referring to the validated value cannot be resolved up front; those constraints are left to the provider.
+    private String interpolate(ConstraintDescriptor<?> descriptor) {
+        String template = descriptor.getMessageTemplate();
+        if (template.contains("${")) {
+            return null;
+        }
+        try {
+            return messageInterpolator.interpolate(template, new MessageInterpolator.Context() {
+                @Override
+                public ConstraintDescriptor<?> getConstraintDescriptor() {
+                    return descriptor;
+                }
+
+                @Override
+                public Object getValidatedValue() {
+                    return null;
+                }
+
+                @Override
+                public <T> T unwrap(Class<T> type) {
+                    throw new ValidationException("Unwrapping " + type + " is not supported");
+                }
+            });
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.clearsolutions.task.perf;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// An application started in its own JVM on a free port and returned once it answers HTTP requests. The process
+// output goes to <name>.log in the report directory.
+class AppProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final int port;
+
+    private AppProcess(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+
+    static AppProcess start(String name, String jar, List<String> jvmArgs, List<String> appArgs)
+            throws IOException, InterruptedException {
+        List<String> launchArgs = new ArrayList<>(jvmArgs);
+        launchArgs.add("-jar");
+        launchArgs.add(jar);
+        return start(name, launchArgs, appArgs);
+    }
+
+    // launchArgs are the java arguments up to and including the jar or main class.
+    static AppProcess start(String name, List<String> launchArgs, List<String> appArgs)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(launchArgs);
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+
+        Path dir = Path.of(System.getProperty("perf.reportDir", "build/reports/perf"));
+        Files.createDirectories(dir);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve(name + ".log").toFile())
+                .start();
+        AppProcess app = new AppProcess(process, port);
+        try {
+            app.awaitReady();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    private void awaitReady() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest probe = HttpRequest.newBuilder(uri("/users?size=1")).timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not start within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.clearsolutions.task.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Throughput and latency of the read endpoints against generated datasets of increasing size. The query
+// cache is disabled and the user counter recounts on every request, so each request hits the database and
+// the numbers show how the queries and count(*) scale with the table. Admission control is disabled so no
+// request is shed.
+class DatasetBenchmark {
+
+    @Test
+    void measureEndpointsAtDatasetSizes() throws Exception {
+        List<Integer> sizes = PerfReport.intListProperty("perf.dataset.sizes", "100000,1000000");
+        List<Integer> concurrency = PerfReport.intListProperty("perf.dataset.concurrency", "1,16,64");
+        long seed = PerfReport.intProperty("perf.dataset.seed", 42);
+        Duration warmup = Duration.ofSeconds(PerfReport.intProperty("perf.dataset.warmupSeconds", 5));
+        Duration duration = Duration.ofSeconds(PerfReport.intProperty("perf.dataset.seconds", 15));
+
+        PerfReport loads = new PerfReport("dataset-load", "rows", "seed", "loadSeconds");
+        PerfReport report = new PerfReport("dataset",
+                "rows", "endpoint", "clients", "requests", "errors", "throughput", "p50Ms", "p99Ms");
+        for (int size : sizes) {
+            String jdbcUrl = dataset(size, seed, loads);
+            try (AppProcess app = AppProcess.start("dataset-" + size, System.getProperty("perf.bootJar"),
+                    List.of(), List.of(
+                            "--spring.datasource.url=" + jdbcUrl,
+                            "--spring.datasource.username=sa",
+                            "--spring.jpa.hibernate.ddl-auto=none",
+                            "--spring.jpa.show-sql=false",
+                            "--users.query-cache.max-entries=0",
+                            "--users.counter.resync-after=0s",
+                            "--users.admission.enabled=false"))) {
+                HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                for (Map.Entry<String, Supplier<String>> endpoint : endpoints().entrySet()) {
+                    LoadDriver driver = new LoadDriver(httpClient, () -> HttpRequest.newBuilder(
+                                    app.uri(endpoint.getValue().get()))
+                            .header("Accept", "application/json")
+                            .build());
+                    for (int clients : concurrency) {
+                        LoadDriver.Result result = driver.run(clients, warmup, duration);
+                        report.add(size, endpoint.getKey(), clients, result.requests(), result.errors(),
+                                result.throughput(), result.p50Ms(), result.p99Ms());
+                    }
+                }
+            }
+        }
+        loads.write();
+        report.write();
+    }
+
+    private static Map<String, Supplier<String>> endpoints() {
+        Map<String, Supplier<String>> endpoints = new LinkedHashMap<>();
+        endpoints.put("list", () -> "/users?size=20&page=" + ThreadLocalRandom.current().nextInt(100));
+        endpoints.put("range", () -> "/users/range?size=20&" + randomYear());
+        endpoints.put("range-slice", () -> "/users/range?size=20&slice=true&" + randomYear());
+        return endpoints;
+    }
+
+    private static String randomYear() {
+        LocalDate from = LocalDate.of(1925 + ThreadLocalRandom.current().nextInt(80), 1, 1);
+        return "from=" + from + "&to=" + from.plusYears(1).minusDays(1);
+    }
+
+    // Datasets are kept in perf.dataDir and only generated once per size and seed.
+    private static String dataset(int size, long seed, PerfReport loads) throws Exception {
+        Path dir = Path.of(System.getProperty("perf.dataDir", "build/perf-data")).toAbsolutePath();
+        Files.createDirectories(dir);
+        String name = "users-" + size + "-" + seed;
+        String jdbcUrl = "jdbc:h2:file:" + dir.resolve(name);
+        Path marker = dir.resolve(name + ".done");
+        if (Files.notExists(marker)) {
+            long start = System.nanoTime();
+            UserDataGenerator.loadH2(jdbcUrl, size, seed);
+            loads.add(size, seed, (System.nanoTime() - start) / 1e9);
+            Files.createFile(marker);
+        }
+        return jdbcUrl;
+    }
+}
@@ -0,0 +1,117 @@
+package com.clearsolutions.task.perf;
+
+import com.clearsolutions.task.model.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Bytes on the wire and encode/decode time per page of users for the negotiable response encodings.
+// Decoding reads the users back into objects, as a consumer would.
+class EncodingBenchmark {
+
+    private static final TypeReference<List<User>> USERS = new TypeReference<>() {
+    };
+
+    private record Encoding(ObjectMapper mapper, boolean gzip) {
+
+        byte[] encode(Object value) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+                mapper.writeValue(out, value);
+            }
+            return bytes.toByteArray();
+        }
+
+        List<User> decode(byte[] bytes) throws IOException {
+            try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                    : new ByteArrayInputStream(bytes)) {
+                return mapper.readValue(in, USERS);
+            }
+        }
+    }
+
+    @Test
+    void measureEncodings() throws Exception {
+        int iterations = PerfReport.intProperty("perf.encoding.iterations", 2000);
+        List<Integer> pageSizes = PerfReport.intListProperty("perf.encoding.pageSizes", "100,1000");
+
+        Map<String, Encoding> encodings = new LinkedHashMap<>();
+        encodings.put("json", new Encoding(bootMapper(Jackson2ObjectMapperBuilder.json()), false));
+        encodings.put("json-gzip", new Encoding(bootMapper(Jackson2ObjectMapperBuilder.json()), true));
+        encodings.put("smile", new Encoding(bootMapper(Jackson2ObjectMapperBuilder.smile()), false));
+        encodings.put("cbor", new Encoding(bootMapper(Jackson2ObjectMapperBuilder.cbor()), false));
+
+        PerfReport report = new PerfReport("encoding",
+                "encoding", "pageSize", "bytes", "bytesVsJson", "encodeMicros", "decodeMicros");
+        for (int pageSize : pageSizes) {
+            List<User> users = users(pageSize);
+            long jsonBytes = encodings.get("json").encode(users).length;
+            for (Map.Entry<String, Encoding> entry : encodings.entrySet()) {
+                Encoding encoding = entry.getValue();
+                byte[] encoded = encoding.encode(users);
+                assertEquals(users, encoding.decode(encoded));
+
+                for (int i = 0; i < iterations; i++) {
+                    encoding.decode(encoding.encode(users));
+                }
+                long encodeStart = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    encoding.encode(users);
+                }
+                double encodeMicros = (System.nanoTime() - encodeStart) / 1e3 / iterations;
+                long decodeStart = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    encoding.decode(encoded);
+                }
+                double decodeMicros = (System.nanoTime() - decodeStart) / 1e3 / iterations;
+                report.add(entry.getKey(), pageSize, encoded.length, (double) encoded.length / jsonBytes,
+                        encodeMicros, decodeMicros);
+            }
+        }
+        report.write();
+    }
+
+    // The settings JacksonAutoConfiguration applies to the application's builder without spring.jackson.*
+    // properties, as used for the JSON converter and by ContentNegotiationConfiguration: dates as ISO strings,
+    // the well-known modules plus parameter names.
+    private static ObjectMapper bootMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .modulesToInstall(new ParameterNamesModule())
+                .build();
+    }
+
+    private static List<User> users(int size) {
+        UserDataGenerator generator = new UserDataGenerator(42);
+        return IntStream.range(0, size)
+                .mapToObj(i -> generator.next())
+                .map(user -> User.builder()
+                        .id(user.id())
+                        .email(user.email())
+                        .firstName(user.firstName())
+                        .lastName(user.lastName())
+                        .birthDate(user.birthDate())
+                        .address(user.address())
+                        .phoneNumber(user.phoneNumber())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.clearsolutions.task.perf;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Closed-loop load: each client sends its next request as soon as the previous response arrived, so the
+// number of requests in flight equals the number of clients.
+class LoadDriver {
+
+    record Result(int clients, long requests, long errors, double throughput, double p50Ms, double p99Ms) {
+    }
+
+    private final HttpClient httpClient;
+    private final Supplier<HttpRequest> requests;
+
+    LoadDriver(HttpClient httpClient, Supplier<HttpRequest> requests) {
+        this.httpClient = httpClient;
+        this.requests = requests;
+    }
+
+    Result run(int clients, Duration warmup, Duration duration) {
+        drive(clients, warmup);
+        return drive(clients, duration);
+    }
+
+    private Result drive(int clients, Duration duration) {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<List<Long>> latencies = new ArrayList<>();
+        List<CompletableFuture<Void>> loops = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            List<Long> clientLatencies = new ArrayList<>();
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            latencies.add(clientLatencies);
+            loops.add(done);
+            next(deadline, clientLatencies, errors, done);
+        }
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().flatMap(List::stream).mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Result(clients, sorted.length, errors.get(), sorted.length / seconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99));
+    }
+
+    // Re-issued from the completion callback rather than composed, so long runs do not build future chains.
+    private void next(long deadline, List<Long> clientLatencies, AtomicLong errors, CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long sentAt = System.nanoTime();
+        httpClient.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    if (failure != null || response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    } else {
+                        clientLatencies.add(System.nanoTime() - sentAt);
+                    }
+                    next(deadline, clientLatencies, errors, done);
+                });
+    }
+
+    static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+}
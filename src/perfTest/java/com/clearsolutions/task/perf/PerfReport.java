@@ -0,0 +1,69 @@
+package com.clearsolutions.task.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Writes one CSV per benchmark run and appends the same rows, stamped with the run time, to a history
+// file next to it, so results can be tracked across builds.
+class PerfReport {
+
+    private final String name;
+    private final String header;
+    private final List<String> rows = new ArrayList<>();
+
+    PerfReport(String name, String... columns) {
+        this.name = name;
+        this.header = String.join(",", columns);
+    }
+
+    void add(Object... values) {
+        List<String> cells = new ArrayList<>();
+        for (Object value : values) {
+            cells.add(value instanceof Double d ? String.format(Locale.ROOT, "%.3f", d) : String.valueOf(value));
+        }
+        String row = String.join(",", cells);
+        rows.add(row);
+        System.out.println(name + ": " + row);
+    }
+
+    void write() {
+        Path dir = Path.of(System.getProperty("perf.reportDir", "build/reports/perf"));
+        String runAt = Instant.now().toString();
+        try {
+            Files.createDirectories(dir);
+            List<String> lines = new ArrayList<>();
+            lines.add(header);
+            lines.addAll(rows);
+            Files.write(dir.resolve(name + ".csv"), lines);
+
+            Path history = dir.resolve(name + "-history.csv");
+            List<String> historyLines = new ArrayList<>();
+            if (Files.notExists(history)) {
+                historyLines.add("runAt," + header);
+            }
+            rows.forEach(row -> historyLines.add(runAt + "," + row));
+            Files.write(history, historyLines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static int intProperty(String key, int defaultValue) {
+        return Integer.parseInt(System.getProperty(key, String.valueOf(defaultValue)));
+    }
+
+    static List<Integer> intListProperty(String key, String defaultValue) {
+        return Arrays.stream(System.getProperty(key, defaultValue).split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+    }
+}
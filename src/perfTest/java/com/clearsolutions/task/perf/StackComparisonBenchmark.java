@@ -0,0 +1,74 @@
+package com.clearsolutions.task.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Servlet (Tomcat + JPA) against reactive (Netty + R2DBC) on the same range query at increasing client
+// counts. The servlet query and JSON caches, SQL logging and admission control are disabled and slice mode
+// skips the count query, so both stacks do the same work per request and every request is served.
+class StackComparisonBenchmark {
+
+    private static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+    private static final int BIRTH_DATE_DAYS = 50 * 365;
+
+    @Test
+    void compareServletAndReactiveStacks() throws Exception {
+        int users = PerfReport.intProperty("perf.stack.users", 2000);
+        int pageSize = PerfReport.intProperty("perf.stack.pageSize", 50);
+        List<Integer> clientCounts = PerfReport.intListProperty("perf.stack.clients", "64,256,1024");
+        Duration warmup = Duration.ofSeconds(PerfReport.intProperty("perf.stack.warmupSeconds", 5));
+        Duration duration = Duration.ofSeconds(PerfReport.intProperty("perf.stack.seconds", 20));
+
+        PerfReport report = new PerfReport("stack-comparison",
+                "stack", "clients", "requests", "errors", "throughput", "p50Ms", "p99Ms");
+        try (AppProcess servlet = AppProcess.start("stack-servlet", System.getProperty("perf.bootJar"),
+                List.of(), List.of("--users.query-cache.max-entries=0", "--users.json-cache.max-entries=0",
+                        "--spring.jpa.show-sql=false", "--users.admission.enabled=false"))) {
+            measure(report, "servlet", servlet, "&slice=true", users, pageSize, clientCounts, warmup, duration);
+        }
+        try (AppProcess reactive = AppProcess.start("stack-reactive", System.getProperty("perf.reactiveBootJar"),
+                List.of(), List.of())) {
+            measure(report, "reactive", reactive, "", users, pageSize, clientCounts, warmup, duration);
+        }
+        report.write();
+    }
+
+    private void measure(PerfReport report, String stack, AppProcess app, String extraQuery, int users, int pageSize,
+                         List<Integer> clientCounts, Duration warmup, Duration duration) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        seed(httpClient, app, users);
+        int pages = Math.max(1, users / 2 / pageSize);
+        LoadDriver driver = new LoadDriver(httpClient, () -> HttpRequest.newBuilder(app.uri(
+                        "/users/range?from=1970-01-01&to=1994-12-31&sort=birthDate&size=" + pageSize
+                                + "&page=" + ThreadLocalRandom.current().nextInt(pages) + extraQuery))
+                .header("Accept", "application/json")
+                .build());
+        for (int clients : clientCounts) {
+            LoadDriver.Result result = driver.run(clients, warmup, duration);
+            report.add(stack, clients, result.requests(), result.errors(), result.throughput(),
+                    result.p50Ms(), result.p99Ms());
+        }
+    }
+
+    private void seed(HttpClient httpClient, AppProcess app, int users) throws Exception {
+        for (int i = 0; i < users; i++) {
+            LocalDate birthDate = FIRST_BIRTH_DATE.plusDays((long) i * 7919 % BIRTH_DATE_DAYS);
+            String body = "{\"email\":\"user" + i + "@example.com\",\"firstName\":\"First" + i
+                    + "\",\"lastName\":\"Last" + (i % 500) + "\",\"birthDate\":\"" + birthDate + "\"}";
+            HttpRequest request = HttpRequest.newBuilder(app.uri("/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            assertEquals(201, httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.clearsolutions.task.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class StartupTimeBenchmark {
+
+    private static final String MAIN_CLASS = "com.clearsolutions.task.TaskApplication";
+
+    @Test
+    void measureStartupTime() throws Exception {
+        int runs = PerfReport.intProperty("perf.startup.runs", 5);
+        String classpath = fastStartupClasspath();
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default", List.of("-jar", System.getProperty("perf.bootJar")));
+        variants.put("fast-startup", List.of("-cp", classpath, MAIN_CLASS,
+                "--spring.profiles.active=fast-startup"));
+        variants.put("fast-startup-aot-cds", List.of(
+                "-XX:SharedArchiveFile=" + System.getProperty("perf.fastStartup.archive"),
+                "-Dspring.aot.enabled=true",
+                "-cp", classpath, MAIN_CLASS,
+                "--spring.profiles.active=fast-startup"));
+
+        PerfReport report = new PerfReport("startup", "variant", "runs",
+                "firstResponseMinMs", "firstResponseMedianMs", "firstResponseMaxMs");
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            launch(variant.getKey(), variant.getValue());
+            List<Long> times = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                times.add(launch(variant.getKey(), variant.getValue()));
+            }
+            times.sort(Comparator.naturalOrder());
+            report.add(variant.getKey(), runs, times.get(0), times.get(times.size() / 2), times.get(times.size() - 1));
+        }
+        report.write();
+    }
+
+    // Time from launching the JVM to the first successful GET /users, so the web server, the database and
+    // the lazily created beans on the request path are all included.
+    private long launch(String variant, List<String> args) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try (AppProcess ignored = AppProcess.start("startup-" + variant, args, List.of())) {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    // Same order as the Gradle cdsArchive task; a CDS archive is only used when the classpath matches.
+    private static String fastStartupClasspath() throws IOException {
+        try (Stream<Path> jars = Files.list(Path.of(System.getProperty("perf.fastStartup.lib")))) {
+            return jars.sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .map(Path::toString)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.clearsolutions.task.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Reproducible users: the same seed always yields the same rows. Ages follow an adult population pyramid
+// rather than a uniform spread, and the id is part of the email so emails are unique at any size.
+class UserDataGenerator {
+
+    record GeneratedUser(long id, String email, String firstName, String lastName, LocalDate birthDate,
+                         String address, String phoneNumber) {
+    }
+
+    // Fixed reference date so a seed generates the same birth dates whenever it runs.
+    static final LocalDate REFERENCE_DATE = LocalDate.of(2024, 1, 1);
+
+    // {first age, last age, weight} per band.
+    private static final int[][] AGE_BANDS = {
+            {18, 24, 10}, {25, 34, 17}, {35, 44, 17}, {45, 54, 16},
+            {55, 64, 16}, {65, 74, 13}, {75, 84, 8}, {85, 99, 3}};
+    private static final int TOTAL_WEIGHT = Arrays.stream(AGE_BANDS).mapToInt(band -> band[2]).sum();
+
+    private static final List<String> FIRST_NAMES = List.of("Olena", "Dmytro", "Andrii", "Iryna", "Oksana",
+            "Mykola", "Taras", "Natalia", "Serhii", "Yulia", "Oleksandr", "Kateryna", "Viktor", "Sofia",
+            "Bohdan", "Anna", "Ivan", "Maria", "Roman", "Daria");
+    private static final List<String> LAST_NAMES = List.of("Melnyk", "Shevchenko", "Boyko", "Kovalenko",
+            "Bondarenko", "Tkachenko", "Kovalchuk", "Kravchenko", "Oliynyk", "Shevchuk", "Koval", "Polishchuk",
+            "Bondar", "Tkachuk", "Moroz", "Marchenko", "Lysenko", "Rudenko", "Savchenko", "Petrenko");
+    private static final List<String> CITIES = List.of("Kyiv", "Lviv", "Odesa", "Kharkiv", "Dnipro",
+            "Vinnytsia", "Poltava", "Chernihiv");
+    private static final List<String> DOMAINS = List.of("gmail.com", "ukr.net", "outlook.com", "example.com");
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_EVERY = 50_000;
+    private static final List<String> SECONDARY_INDEXES = List.of("idx_app_user_birth_date_id",
+            "idx_app_user_last_name_id");
+
+    private final SplittableRandom random;
+    private long nextId = 1;
+
+    UserDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    GeneratedUser next() {
+        long id = nextId++;
+        String firstName = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+        String lastName = LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+        String email = (firstName + "." + lastName + "." + id + "@" + DOMAINS.get(random.nextInt(DOMAINS.size())))
+                .toLowerCase(Locale.ROOT);
+        String address = random.nextInt(10) < 7
+                ? CITIES.get(random.nextInt(CITIES.size())) + ", " + (1 + random.nextInt(200))
+                : null;
+        String phoneNumber = random.nextInt(10) < 8
+                ? String.format(Locale.ROOT, "+380%09d", random.nextInt(1_000_000_000))
+                : null;
+        return new GeneratedUser(id, email, firstName, lastName, birthDate(), address, phoneNumber);
+    }
+
+    private LocalDate birthDate() {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        int[] band = AGE_BANDS[0];
+        for (int[] candidate : AGE_BANDS) {
+            band = candidate;
+            pick -= candidate[2];
+            if (pick < 0) {
+                break;
+            }
+        }
+        int age = band[0] + random.nextInt(band[1] - band[0] + 1);
+        return REFERENCE_DATE.minusYears(age).minusDays(1 + random.nextInt(365));
+    }
+
+    // Creates the application schema and inserts count users with JDBC batches. The secondary indexes are
+    // built once after the load, which is much faster than maintaining them row by row.
+    static void loadH2(String jdbcUrl, long count, long seed) throws SQLException {
+        UserDataGenerator generator = new UserDataGenerator(seed);
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                runSchema(statement);
+                for (String index : SECONDARY_INDEXES) {
+                    statement.execute("DROP INDEX " + index);
+                }
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO app_user "
+                    + "(id, email, email_normalized, first_name, last_name, birth_date, address, phone_number, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)")) {
+                for (long i = 1; i <= count; i++) {
+                    GeneratedUser user = generator.next();
+                    insert.setLong(1, user.id());
+                    insert.setString(2, user.email());
+                    // Generated emails are already lower case.
+                    insert.setString(3, user.email());
+                    insert.setString(4, user.firstName());
+                    insert.setString(5, user.lastName());
+                    insert.setDate(6, Date.valueOf(user.birthDate()));
+                    insert.setString(7, user.address());
+                    insert.setString(8, user.phoneNumber());
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0 || i == count) {
+                        insert.executeBatch();
+                    }
+                    if (i % COMMIT_EVERY == 0) {
+                        connection.commit();
+                    }
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                runSchema(statement);
+                // Hibernate's pooled optimizer hands out the 50 ids below each sequence value.
+                statement.execute("ALTER SEQUENCE app_user_seq RESTART WITH " + (count + 100));
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    private static void runSchema(Statement statement) throws SQLException {
+        for (String sql : readSchema().split(";")) {
+            if (!sql.isBlank()) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static String readSchema() {
+        try (InputStream schema = UserDataGenerator.class.getResourceAsStream("/db/schema.sql")) {
+            if (schema == null) {
+                throw new IllegalStateException("db/schema.sql not found on the classpath");
+            }
+            return new String(schema.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
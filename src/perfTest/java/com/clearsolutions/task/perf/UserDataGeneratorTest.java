@@ -0,0 +1,58 @@
+package com.clearsolutions.task.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDataGeneratorTest {
+
+    @Test
+    @DisplayName("Same seed generates the same users")
+    void givenSeed_whenGenerated_thenReproducible() {
+        UserDataGenerator first = new UserDataGenerator(7);
+        UserDataGenerator second = new UserDataGenerator(7);
+
+        List<UserDataGenerator.GeneratedUser> expected = IntStream.range(0, 1000).mapToObj(i -> first.next()).toList();
+
+        assertEquals(expected, IntStream.range(0, 1000).mapToObj(i -> second.next()).toList());
+    }
+
+    @Test
+    @DisplayName("Emails are unique and every user is an adult")
+    void givenGeneratedUsers_whenChecked_thenUniqueEmailsAndAdults() {
+        UserDataGenerator generator = new UserDataGenerator(7);
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            UserDataGenerator.GeneratedUser user = generator.next();
+            assertTrue(emails.add(user.email()), user.email());
+            assertFalse(user.birthDate().isAfter(UserDataGenerator.REFERENCE_DATE.minusYears(18)));
+        }
+    }
+
+    @Test
+    @DisplayName("Bulk load creates the schema and the rows")
+    void givenCount_whenLoadH2_thenRowsLoaded() throws Exception {
+        String jdbcUrl = "jdbc:h2:mem:generator_test;DB_CLOSE_DELAY=-1";
+
+        UserDataGenerator.loadH2(jdbcUrl, 5000, 7);
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet count = statement.executeQuery("SELECT COUNT(*), COUNT(DISTINCT email) FROM app_user")) {
+            assertTrue(count.next());
+            assertEquals(5000, count.getLong(1));
+            assertEquals(5000, count.getLong(2));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.clearsolutions.task.perf;
+
+import com.clearsolutions.task.cache.UserJsonCache;
+import com.clearsolutions.task.cache.UserJsonModule;
+import com.clearsolutions.task.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// CPU time and allocation per serialized /users page, with and without the pre-serialized user fragments.
+class UserJsonCacheBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void measureSerializationCost() throws Exception {
+        int responses = PerfReport.intProperty("perf.json.responses", 20000);
+        List<Integer> pageSizes = PerfReport.intListProperty("perf.json.pageSizes", "20,100");
+
+        Map<String, ObjectMapper> variants = new LinkedHashMap<>();
+        variants.put("jackson", Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule()).build());
+        variants.put("fragments", Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule(), new UserJsonModule(new UserJsonCache(100000)))
+                .build());
+
+        PerfReport report = new PerfReport("json-cache",
+                "variant", "pageSize", "responses", "bytesPerResponse", "cpuMicrosPerResponse", "allocatedBytesPerResponse");
+        for (int pageSize : pageSizes) {
+            PageImpl<User> page = page(pageSize);
+            byte[] expected = variants.get("jackson").writeValueAsBytes(page);
+            for (Map.Entry<String, ObjectMapper> variant : variants.entrySet()) {
+                ObjectMapper mapper = variant.getValue();
+                assertArrayEquals(expected, mapper.writeValueAsBytes(page));
+                serialize(mapper, page, responses);
+
+                long cpuStart = THREADS.getCurrentThreadCpuTime();
+                long allocatedStart = THREADS.getCurrentThreadAllocatedBytes();
+                serialize(mapper, page, responses);
+                double cpuMicros = (THREADS.getCurrentThreadCpuTime() - cpuStart) / 1e3 / responses;
+                long allocatedBytes = (THREADS.getCurrentThreadAllocatedBytes() - allocatedStart) / responses;
+                report.add(variant.getKey(), pageSize, responses, expected.length, cpuMicros, allocatedBytes);
+            }
+        }
+        report.write();
+    }
+
+    private static void serialize(ObjectMapper mapper, Object value, int times) throws Exception {
+        for (int i = 0; i < times; i++) {
+            mapper.writeValue(OutputStream.nullOutputStream(), value);
+        }
+    }
+
+    private static PageImpl<User> page(int size) {
+        List<User> users = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> User.builder()
+                        .id(id)
+                        .version(0L)
+                        .email("user" + id + "@example.com")
+                        .firstName("First" + id)
+                        .lastName("Last" + id)
+                        .birthDate(LocalDate.of(1950, 1, 1).plusDays(id * 97))
+                        .address("Kyiv, Khreshchatyk " + id)
+                        .phoneNumber("+38095" + id)
+                        .build())
+                .toList();
+        return new PageImpl<>(users, PageRequest.of(0, size), 10_000);
+    }
+}
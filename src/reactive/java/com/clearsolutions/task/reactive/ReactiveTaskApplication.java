@@ -0,0 +1,15 @@
+package com.clearsolutions.task.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+@SpringBootApplication
+public class ReactiveTaskApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveTaskApplication.class)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+
+}
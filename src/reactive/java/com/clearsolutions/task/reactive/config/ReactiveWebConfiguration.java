@@ -0,0 +1,18 @@
+package com.clearsolutions.task.reactive.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+// Spring Boot only registers the Pageable and Sort resolvers for servlet applications.
+@Configuration
+public class ReactiveWebConfiguration implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        ReactiveSortHandlerMethodArgumentResolver sortResolver = new ReactiveSortHandlerMethodArgumentResolver();
+        configurer.addCustomResolver(sortResolver, new ReactivePageableHandlerMethodArgumentResolver(sortResolver));
+    }
+}
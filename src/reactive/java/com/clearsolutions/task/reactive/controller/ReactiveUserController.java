@@ -0,0 +1,81 @@
+package com.clearsolutions.task.reactive.controller;
+
+import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.reactive.model.ReactiveUser;
+import com.clearsolutions.task.reactive.service.ReactiveUserService;
+import com.clearsolutions.task.validation.PatchValidation;
+import com.clearsolutions.task.validation.PutValidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Mirrors UserController. List and range results are streamed row by row from R2DBC, as a JSON array or
+// as newline-delimited JSON (application/x-ndjson), instead of being collected into a Page.
+@RestController
+@RequestMapping("/users")
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ReactiveUser> getAllUsers(Pageable pageable) {
+        return userService.getAllUsers(pageable);
+    }
+
+    @GetMapping(path = "/range", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ReactiveUser> getAllUsersInRange(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            Pageable pageable) {
+        return userService.getAllUsersWithin(fromDate, toDate, pageable);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ReactiveUser> getUser(@PathVariable Long id) {
+        return userService.getUserById(id);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Void>> createUser(@Validated(PutValidation.class) @RequestBody UserRequest userRequest,
+                                                 UriComponentsBuilder uriBuilder) {
+        return userService.createUser(userRequest)
+                .map(user -> ResponseEntity.created(uriBuilder
+                                .path("/users/{id}")
+                                .buildAndExpand(user.getId())
+                                .toUri())
+                        .build());
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Void>> updateUser(@PathVariable Long id,
+                                                 @Validated(PutValidation.class) @RequestBody UserRequest userRequest) {
+        return userService.updateUser(id, userRequest)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> patchUser(@PathVariable Long id,
+                                                @Validated(PatchValidation.class) @RequestBody UserRequest userRequest) {
+        return userService.patchUpdateUser(id, userRequest)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable Long id) {
+        return userService.deleteUserById(id)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.clearsolutions.task.reactive.exception;
+
+import com.clearsolutions.task.exception.UserAlreadyExistsException;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@ControllerAdvice
+public class ReactiveHandlerAdvice {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleException(WebExchangeBindException e) {
+        Map<String, String> collect = e.getFieldErrors()
+                .stream()
+                .collect(Collectors.toMap(
+                        FieldError::getField,
+                        fieldError -> fieldError.getDefaultMessage() != null ? fieldError.getDefaultMessage() : "",
+                        (first, second) -> first));
+        return ResponseEntity.badRequest().body(collect);
+    }
+
+    @ExceptionHandler({UserAlreadyExistsException.class, IllegalArgumentException.class})
+    public ResponseEntity<Object> handleException(Exception e) {
+        Map<String, String> map = new HashMap<>();
+        map.put("Error", e.getMessage());
+        return ResponseEntity.badRequest().body(map);
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Object> handleException(UserNotFoundException e) {
+        Map<String, String> map = new HashMap<>();
+        map.put("Error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(map);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleException(DataIntegrityViolationException e) {
+        Map<String, String> map = new HashMap<>();
+        String message = "User with this email already exists";
+        map.put("Error", message);
+        return ResponseEntity.badRequest().body(map);
+    }
+
+    // WebFlux reports malformed bodies and unconvertible parameters alike as ServerWebInputException.
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleException(ServerWebInputException e) {
+        Map<String, String> map = new HashMap<>();
+        String message = "Bad HTTP request or malformed JSON";
+        map.put("Error", message);
+        return ResponseEntity.badRequest().body(map);
+    }
+}
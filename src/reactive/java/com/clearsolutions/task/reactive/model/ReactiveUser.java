@@ -0,0 +1,24 @@
+package com.clearsolutions.task.reactive.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("app_user")
+public class ReactiveUser {
+    @Id
+    private Long id;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private LocalDate birthDate;
+    private String address;
+    private String phoneNumber;
+
+}
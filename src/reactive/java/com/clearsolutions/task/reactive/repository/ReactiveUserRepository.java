@@ -0,0 +1,14 @@
+package com.clearsolutions.task.reactive.repository;
+
+import com.clearsolutions.task.reactive.model.ReactiveUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+public interface ReactiveUserRepository extends R2dbcRepository<ReactiveUser, Long> {
+    Flux<ReactiveUser> findAllBy(Pageable pageable);
+
+    Flux<ReactiveUser> findAllByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+}
@@ -0,0 +1,97 @@
+package com.clearsolutions.task.reactive.service;
+
+import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import com.clearsolutions.task.reactive.model.ReactiveUser;
+import com.clearsolutions.task.reactive.repository.ReactiveUserRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.clearsolutions.task.service.UserPageRequests.toIndexedPageRequest;
+
+@Service
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public Flux<ReactiveUser> getAllUsers(Pageable pageable) {
+        return Mono.fromCallable(() -> toIndexedPageRequest(pageable))
+                .flatMapMany(userRepository::findAllBy);
+    }
+
+    public Flux<ReactiveUser> getAllUsersWithin(LocalDate fromDate, LocalDate toDate, Pageable pageable) {
+        if (fromDate.isAfter(toDate)) {
+            return Flux.error(new IllegalArgumentException("\"From\" date cannot be after \"To\" date"));
+        }
+        return Mono.fromCallable(() -> toIndexedPageRequest(pageable))
+                .flatMapMany(pageRequest -> userRepository.findAllByBirthDateBetween(fromDate, toDate, pageRequest));
+    }
+
+    public Mono<ReactiveUser> getUserById(Long id) {
+        return findUser(id);
+    }
+
+    public Mono<ReactiveUser> createUser(UserRequest userRequest) {
+        return userRepository.save(mapUserRequestToNewUser(userRequest));
+    }
+
+    public Mono<Void> updateUser(Long id, UserRequest userRequest) {
+        return findUser(id)
+                .map(user -> {
+                    mapUserRequestToUser(userRequest, user);
+                    if (Objects.isNull(userRequest.getAddress())) {
+                        user.setAddress(null);
+                    }
+                    if (Objects.isNull(userRequest.getPhoneNumber())) {
+                        user.setPhoneNumber(null);
+                    }
+                    return user;
+                })
+                .flatMap(userRepository::save)
+                .then();
+    }
+
+    public Mono<Void> patchUpdateUser(Long id, UserRequest userRequest) {
+        return findUser(id)
+                .map(user -> {
+                    mapUserRequestToUser(userRequest, user);
+                    return user;
+                })
+                .flatMap(userRepository::save)
+                .then();
+    }
+
+    public Mono<Void> deleteUserById(Long id) {
+        return findUser(id).flatMap(userRepository::delete);
+    }
+
+    private Mono<ReactiveUser> findUser(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User with id " + id + " not found")));
+    }
+
+    private ReactiveUser mapUserRequestToNewUser(UserRequest userRequest) {
+        ReactiveUser newUser = new ReactiveUser();
+        mapUserRequestToUser(userRequest, newUser);
+        return newUser;
+    }
+
+    private void mapUserRequestToUser(UserRequest userRequest, ReactiveUser user) {
+        Optional.ofNullable(userRequest.getEmail()).ifPresent(user::setEmail);
+        Optional.ofNullable(userRequest.getFirstName()).ifPresent(user::setFirstName);
+        Optional.ofNullable(userRequest.getLastName()).ifPresent(user::setLastName);
+        Optional.ofNullable(userRequest.getBirthDate()).ifPresent(user::setBirthDate);
+        Optional.ofNullable(userRequest.getAddress()).ifPresent(user::setAddress);
+        Optional.ofNullable(userRequest.getPhoneNumber()).ifPresent(user::setPhoneNumber);
+    }
+}
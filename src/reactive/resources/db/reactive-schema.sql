@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS app_user
+(
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email        VARCHAR(255) UNIQUE,
+    first_name   VARCHAR(255) NOT NULL,
+    last_name    VARCHAR(255) NOT NULL,
+    birth_date   DATE         NOT NULL,
+    address      VARCHAR(255),
+    phone_number VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_app_user_birth_date_id ON app_user (birth_date, id);
+CREATE INDEX IF NOT EXISTS idx_app_user_last_name_id ON app_user (last_name, id);
@@ -0,0 +1,202 @@
+package com.clearsolutions.task.reactive.controller;
+
+import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import com.clearsolutions.task.reactive.model.ReactiveUser;
+import com.clearsolutions.task.reactive.service.ReactiveUserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(controllers = ReactiveUserController.class, properties = "spring.config.name=reactive")
+class ReactiveUserControllerTest {
+
+    private static final String USER_JSON = """
+            {"email": "user1@gmail.com", "firstName": "First", "lastName": "Last", "birthDate": "1990-05-25"}""";
+
+    private static final List<ReactiveUser> usersList = IntStream.range(1, 11)
+            .mapToObj(i -> ReactiveUser.builder()
+                    .id((long) i)
+                    .email("user" + i + "@gmail.com")
+                    .firstName("user" + i + "firstname")
+                    .lastName("user" + i + "lastname")
+                    .birthDate(LocalDate.parse("1990-05-25").plusDays(i))
+                    .build())
+            .toList();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserService userService;
+
+    @Test
+    @DisplayName("GET /users - stream users as a JSON array and as NDJSON")
+    void whenGetAllUsers_thenReturnUsers() {
+        when(userService.getAllUsers(any(Pageable.class))).thenReturn(Flux.fromIterable(usersList));
+
+        webTestClient.get().uri("/users?page=0&size=10&sort=birthDate,desc")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(10)
+                .jsonPath("$[0].email").isEqualTo("user1@gmail.com");
+        verify(userService).getAllUsers(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "birthDate")));
+
+        webTestClient.get().uri("/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ReactiveUser.class).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("GET /users/range - with correct and incorrect range")
+    void givenRange_whenGetWithinRange_thenReturnUsersOrBadRequest() {
+        LocalDate from = LocalDate.parse("1990-01-01");
+        LocalDate to = LocalDate.parse("1990-12-31");
+        when(userService.getAllUsersWithin(eq(from), eq(to), any(Pageable.class)))
+                .thenReturn(Flux.fromIterable(usersList.subList(0, 3)));
+        when(userService.getAllUsersWithin(eq(to), eq(from), any(Pageable.class)))
+                .thenReturn(Flux.error(new IllegalArgumentException("\"From\" date cannot be after \"To\" date")));
+
+        webTestClient.get().uri("/users/range?from={from}&to={to}", from, to)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ReactiveUser.class).hasSize(3);
+        webTestClient.get().uri("/users/range?from={from}&to={to}", to, from)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.Error").isEqualTo("\"From\" date cannot be after \"To\" date");
+        webTestClient.get().uri("/users/range?from=not-a-date&to={to}", to)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /users/{id} - existing and unknown id")
+    void givenId_whenGetUser_thenReturnUserOrNotFound() {
+        when(userService.getUserById(1L)).thenReturn(Mono.just(usersList.get(0)));
+        when(userService.getUserById(99L))
+                .thenReturn(Mono.error(new UserNotFoundException("User with id 99 not found")));
+
+        webTestClient.get().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo("user1@gmail.com");
+        webTestClient.get().uri("/users/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.Error").isEqualTo("User with id 99 not found");
+    }
+
+    @Test
+    @DisplayName("POST /users - valid, invalid and duplicate user")
+    void givenRequests_whenCreateUser_thenCreatedOrBadRequest() {
+        when(userService.createUser(any(UserRequest.class))).thenReturn(Mono.just(usersList.get(0)));
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(USER_JSON)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueMatches("Location", ".*/users/1");
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\": \"not-an-email\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("Email is not valid")
+                .jsonPath("$.firstName").isEqualTo("First name shouldn't be empty");
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\": ")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.Error").isEqualTo("Bad HTTP request or malformed JSON");
+
+        when(userService.createUser(any(UserRequest.class)))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("duplicate")));
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(USER_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.Error").isEqualTo("User with this email already exists");
+    }
+
+    @Test
+    @DisplayName("PUT and PATCH /users/{id} - updated, invalid or unknown user")
+    void givenRequests_whenUpdateUser_thenNoContentOrError() {
+        when(userService.updateUser(eq(1L), any(UserRequest.class))).thenReturn(Mono.empty());
+        when(userService.patchUpdateUser(eq(1L), any(UserRequest.class))).thenReturn(Mono.empty());
+        when(userService.patchUpdateUser(eq(99L), any(UserRequest.class)))
+                .thenReturn(Mono.error(new UserNotFoundException("User with id 99 not found")));
+
+        webTestClient.put().uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(USER_JSON)
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.put().uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"address\": \"Kyiv\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.patch().uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"address\": \"Kyiv\"}")
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.patch().uri("/users/99")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"address\": \"Kyiv\"}")
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.patch().uri("/users/user")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"address\": \"Kyiv\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(userService, times(1)).updateUser(anyLong(), any(UserRequest.class));
+    }
+
+    @Test
+    @DisplayName("DELETE /users/{id} - existing and unknown id")
+    void givenId_whenDeleteUser_thenNoContentOrNotFound() {
+        when(userService.deleteUserById(1L)).thenReturn(Mono.empty());
+        when(userService.deleteUserById(99L))
+                .thenReturn(Mono.error(new UserNotFoundException("User with id 99 not found")));
+
+        webTestClient.delete().uri("/users/1")
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/users/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
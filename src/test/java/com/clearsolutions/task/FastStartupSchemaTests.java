@@ -0,0 +1,24 @@
+package com.clearsolutions.task;
+
+import com.clearsolutions.task.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The fast-startup profile creates the schema from db/schema.sql with ddl-auto none; booting it once with
+// validate fails when the script no longer matches the entities.
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@ActiveProfiles("fast-startup")
+class FastStartupSchemaTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void whenBootedWithValidate_thenSchemaMatchesEntities() {
+        assertEquals(0, userRepository.count());
+    }
+}
@@ -0,0 +1,145 @@
+package com.clearsolutions.task.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    private static AdaptiveLimiter limiter(int initialLimit, int maxQueue, Duration queueTimeout) {
+        return new AdaptiveLimiter("test", initialLimit, 1, 10, Duration.ofMillis(100), maxQueue, queueTimeout);
+    }
+
+    @Test
+    @DisplayName("Requests over the limit with a full queue are rejected")
+    void givenLimitReachedAndNoQueue_whenAcquire_thenQueueFull() throws Exception {
+        AdaptiveLimiter limiter = limiter(2, 0, Duration.ofMillis(10));
+
+        assertEquals(AdaptiveLimiter.Admission.ADMITTED, limiter.acquire());
+        assertEquals(AdaptiveLimiter.Admission.ADMITTED, limiter.acquire());
+        assertEquals(AdaptiveLimiter.Admission.QUEUE_FULL, limiter.acquire());
+        assertEquals(1L, limiter.stats().get("rejectedQueueFull"));
+    }
+
+    @Test
+    @DisplayName("Queued request times out when no request completes")
+    void givenLimitReached_whenQueueTimeoutElapses_thenTimedOut() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 5, Duration.ofMillis(20));
+        limiter.acquire();
+
+        assertEquals(AdaptiveLimiter.Admission.TIMED_OUT, limiter.acquire());
+        assertEquals(0, limiter.stats().get("queued"));
+    }
+
+    @Test
+    @DisplayName("Queued request is admitted when a request completes")
+    void givenQueuedRequest_whenRelease_thenAdmitted() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 5, Duration.ofSeconds(5));
+        limiter.acquire();
+
+        CompletableFuture<AdaptiveLimiter.Admission> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while ((int) limiter.stats().get("queued") == 0) {
+            Thread.onSpinWait();
+        }
+        limiter.release(FAST);
+
+        assertEquals(AdaptiveLimiter.Admission.ADMITTED, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Slow requests decrease the limit multiplicatively down to the minimum")
+    void givenSlowRequests_whenRelease_thenLimitDecreases() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 1, 10, Duration.ofMillis(1), 0, Duration.ZERO);
+
+        for (int i = 0; i < 50; i++) {
+            Thread.sleep(2);
+            limiter.acquire();
+            limiter.release(SLOW);
+        }
+
+        assertEquals(1, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("A burst of slow completions decreases the limit once")
+    void givenBurstOfSlowCompletions_whenRelease_thenLimitDecreasesOnce() throws Exception {
+        AdaptiveLimiter limiter = limiter(10, 0, Duration.ZERO);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.release(SLOW);
+        }
+
+        assertEquals(9, limiter.limit());
+        assertEquals(1L, limiter.stats().get("decreases"));
+    }
+
+    @Test
+    @DisplayName("New requests do not overtake queued ones")
+    void givenQueuedRequest_whenNewRequestArrivesAfterRelease_thenQueuedAdmittedFirst() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 5, Duration.ofMillis(200));
+        limiter.acquire();
+
+        CompletableFuture<AdaptiveLimiter.Admission> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while ((int) limiter.stats().get("queued") == 0) {
+            Thread.onSpinWait();
+        }
+        limiter.release(FAST);
+
+        assertEquals(AdaptiveLimiter.Admission.TIMED_OUT, limiter.acquire());
+        assertEquals(AdaptiveLimiter.Admission.ADMITTED, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Fast requests using the limit increase it additively up to the maximum")
+    void givenFastRequestsAtLimit_whenRelease_thenLimitIncreases() throws Exception {
+        AdaptiveLimiter limiter = limiter(2, 0, Duration.ZERO);
+
+        for (int i = 0; i < 200; i++) {
+            int limit = limiter.limit();
+            for (int j = 0; j < limit; j++) {
+                limiter.acquire();
+            }
+            for (int j = 0; j < limit; j++) {
+                limiter.release(FAST);
+            }
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Idle capacity does not raise the limit")
+    void givenSingleFastRequest_whenRelease_thenLimitUnchanged() throws Exception {
+        AdaptiveLimiter limiter = limiter(8, 0, Duration.ZERO);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+            limiter.release(FAST);
+        }
+
+        assertEquals(8, limiter.limit());
+    }
+}
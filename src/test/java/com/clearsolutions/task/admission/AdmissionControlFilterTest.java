@@ -0,0 +1,69 @@
+package com.clearsolutions.task.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionLimiters limiters = new AdmissionLimiters(
+            new AdaptiveLimiter("read", 20, 4, 200, Duration.ofMillis(250), 50, Duration.ofMillis(100)),
+            new AdaptiveLimiter("write", 2, 2, 50, Duration.ofMillis(500), 0, Duration.ofMillis(100)),
+            new AdaptiveLimiter("bulk", 1, 1, 16, Duration.ofSeconds(2), 0, Duration.ofMillis(100)));
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(limiters);
+
+    @Test
+    @DisplayName("Admitted request reaches the controller and releases its slot")
+    void givenCapacity_whenFiltered_thenPassedOn() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(0, limiters.read().stats().get("inFlight"));
+        assertEquals(1L, limiters.read().stats().get("admitted"));
+    }
+
+    @Test
+    @DisplayName("Write over the write limit is shed with 429 while reads are still admitted")
+    void givenWriteLimitReached_whenFiltered_thenTooManyRequests() throws Exception {
+        limiters.write().acquire();
+        limiters.write().acquire();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/users/1");
+        filter.doFilter(request, response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(Boolean.TRUE, request.getAttribute(AdmissionControlFilter.SHED_ATTRIBUTE));
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals("{\"Error\":\"Too many requests, retry later\"}", response.getContentAsString());
+
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), readResponse, new MockFilterChain());
+        assertEquals(200, readResponse.getStatus());
+    }
+
+    @Test
+    @DisplayName("Bulk writes go through the bulk limiter, not the write limiter")
+    void givenBulkRequests_whenFiltered_thenBulkLimiterUsed() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/users/bulk/delete"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("POST", "/users/ops"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("PATCH", "/users/1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        assertEquals(2L, limiters.bulk().stats().get("admitted"));
+        assertEquals(1L, limiters.write().stats().get("admitted"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.event.UsersBulkChangedEvent;
+import com.clearsolutions.task.model.User;
+import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserJsonCacheTest {
+
+    private UserJsonCache cache;
+    private ObjectMapper cachedMapper;
+    private ObjectMapper plainMapper;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserJsonCache(100);
+        cachedMapper = Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule(), new UserJsonModule(cache)).build();
+        plainMapper = Jackson2ObjectMapperBuilder.json().modules(new JavaTimeModule()).build();
+    }
+
+    private static User user(long id, long version) {
+        return User.builder()
+                .id(id)
+                .version(version)
+                .email("email" + id + "@gmail.com")
+                .firstName("Afrosin")
+                .lastName("Dmytro")
+                .birthDate(LocalDate.parse("1993-05-25"))
+                .address(id % 2 == 0 ? "Kyiv" : null)
+                .phoneNumber("+38095")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Page assembled from cached fragments is identical to plain serialization")
+    void givenPage_whenSerializedTwice_thenSameBytesAndCacheHits() throws Exception {
+        List<User> users = LongStream.rangeClosed(1, 5).mapToObj(id -> user(id, 0)).toList();
+        PageImpl<User> page = new PageImpl<>(users, PageRequest.of(0, 5), 12);
+
+        byte[] expected = plainMapper.writeValueAsBytes(page);
+
+        assertArrayEquals(expected, cachedMapper.writeValueAsBytes(page));
+        assertArrayEquals(expected, cachedMapper.writeValueAsBytes(page));
+        assertEquals(5L, cache.stats().get("misses"));
+        assertEquals(5L, cache.stats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Version is not part of the JSON")
+    void givenUser_whenSerialized_thenNoVersion() throws Exception {
+        String json = cachedMapper.writeValueAsString(user(1, 3));
+
+        assertFalse(json.contains("version"));
+        assertTrue(json.contains("\"birthDate\":\"1993-05-25\""));
+    }
+
+    @Test
+    @DisplayName("New version of a user is serialized again")
+    void givenNewVersion_whenSerialized_thenFragmentReplaced() throws Exception {
+        cachedMapper.writeValueAsString(user(1, 0));
+        User changed = user(1, 1);
+        changed.setFirstName("Changed");
+
+        String json = cachedMapper.writeValueAsString(changed);
+
+        assertTrue(json.contains("\"firstName\":\"Changed\""));
+        assertEquals(json, cachedMapper.writeValueAsString(changed));
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Write evicts the fragment of the changed user")
+    void givenCachedUser_whenUserChanged_thenEvicted() throws Exception {
+        cachedMapper.writeValueAsString(user(1, 0));
+        cachedMapper.writeValueAsString(user(2, 0));
+
+        cache.onUserChanged(new UserChangedEvent(1L, LocalDate.parse("1993-05-25"), LocalDate.parse("1993-05-25")));
+
+        assertEquals(1, cache.stats().get("size"));
+        assertEquals(1L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    @DisplayName("Bulk write selected by range clears all fragments")
+    void givenCachedUsers_whenRangeBulkChanged_thenCleared() throws Exception {
+        cachedMapper.writeValueAsString(user(1, 0));
+        cachedMapper.writeValueAsString(user(2, 0));
+
+        cache.onUsersBulkChanged(new UsersBulkChangedEvent(null,
+                LocalDate.parse("1990-01-01"), LocalDate.parse("1995-01-01"), null, 0));
+
+        assertEquals(0, cache.stats().get("size"));
+        assertEquals(2L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    @DisplayName("Pretty printed output does not use cached fragments")
+    void givenPrettyPrinter_whenSerialized_thenCacheBypassed() throws Exception {
+        String json = cachedMapper.writerWithDefaultPrettyPrinter().writeValueAsString(user(1, 0));
+
+        assertEquals(plainMapper.writerWithDefaultPrettyPrinter().writeValueAsString(user(1, 0)), json);
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    @Test
+    @DisplayName("Fragments keep the generator features of the mapper")
+    void givenEscapeNonAscii_whenSerialized_thenSameAsPlainMapper() throws Exception {
+        User user = user(1, 0);
+        user.setFirstName("Дмитро");
+        ObjectMapper escapingCachedMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule(), new UserJsonModule(cache))
+                .featuresToEnable(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature())
+                .build();
+        ObjectMapper escapingPlainMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule())
+                .featuresToEnable(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature())
+                .build();
+
+        String plain = cachedMapper.writeValueAsString(List.of(user));
+        String json = escapingCachedMapper.writeValueAsString(List.of(user));
+
+        assertEquals(escapingPlainMapper.writeValueAsString(List.of(user)), json);
+        assertTrue(json.contains("\\u0414"));
+        assertEquals(plainMapper.writeValueAsString(List.of(user)), plain);
+        assertEquals(plain, cachedMapper.writeValueAsString(List.of(user)));
+        assertEquals(json, escapingCachedMapper.writeValueAsString(List.of(user)));
+        assertEquals(2L, cache.stats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Least recently used user is evicted once full")
+    void givenFullCache_whenNewUser_thenLeastRecentlyUsedEvicted() throws Exception {
+        UserJsonCache smallCache = new UserJsonCache(2);
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new JavaTimeModule(), new UserJsonModule(smallCache))
+                .build();
+        mapper.writeValueAsString(user(1, 0));
+        mapper.writeValueAsString(user(2, 0));
+        mapper.writeValueAsString(user(1, 0));
+
+        mapper.writeValueAsString(user(3, 0));
+        mapper.writeValueAsString(user(1, 0));
+        mapper.writeValueAsString(user(3, 0));
+
+        assertEquals(2, smallCache.stats().get("size"));
+        assertEquals(1L, smallCache.stats().get("evictions"));
+        assertEquals(3L, smallCache.stats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Binary output does not use cached fragments")
+    void givenSmileMapper_whenSerialized_thenCacheBypassed() throws Exception {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+                .registerModules(new JavaTimeModule(), new UserJsonModule(cache));
+
+        byte[] smile = smileMapper.writeValueAsBytes(List.of(user(1, 0)));
+
+        assertEquals("email1@gmail.com", smileMapper.readTree(smile).get(0).get("email").asText());
+        assertEquals(0, cache.stats().get("size"));
+    }
+}
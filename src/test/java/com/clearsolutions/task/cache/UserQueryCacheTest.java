@@ -0,0 +1,109 @@
+package com.clearsolutions.task.cache;
+
+import com.clearsolutions.task.event.UserChangedEvent;
+import com.clearsolutions.task.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserQueryCacheTest {
+
+    private static final LocalDate FROM = LocalDate.parse("1990-01-01");
+    private static final LocalDate TO = LocalDate.parse("1995-12-31");
+
+    private UserQueryCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserQueryCache(2, 50);
+        loads = new AtomicInteger();
+    }
+
+    private Page<User> load() {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(), PageRequest.of(0, 20), 0);
+    }
+
+    @Test
+    @DisplayName("Repeated query is served from cache")
+    void givenSameKey_whenGetOrLoad_thenLoadOnce() {
+        UserQueryKey key = UserQueryKey.of(FROM, TO, PageRequest.of(0, 20));
+
+        cache.getOrLoad(key, this::load);
+        cache.getOrLoad(UserQueryKey.of(FROM, TO, PageRequest.of(0, 20)), this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Write inside cached interval invalidates only matching entries")
+    void givenWriteInsideRange_whenUserChanged_thenInvalidateRange() {
+        UserQueryKey inRange = UserQueryKey.of(FROM, TO, PageRequest.of(0, 20));
+        UserQueryKey outOfRange = UserQueryKey.of(LocalDate.parse("2000-01-01"), LocalDate.parse("2001-01-01"),
+                PageRequest.of(0, 20));
+        cache.getOrLoad(inRange, this::load);
+        cache.getOrLoad(outOfRange, this::load);
+
+        cache.onUserChanged(new UserChangedEvent(1L, null, LocalDate.parse("1993-05-25")));
+        cache.getOrLoad(inRange, this::load);
+        cache.getOrLoad(outOfRange, this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(1L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    @DisplayName("Unfiltered pages are invalidated by any write")
+    void givenUnfilteredKey_whenUserChanged_thenInvalidate() {
+        UserQueryKey all = UserQueryKey.of(PageRequest.of(0, 20));
+        cache.getOrLoad(all, this::load);
+
+        cache.onUserChanged(new UserChangedEvent(1L, LocalDate.parse("1970-01-01"), null));
+        cache.getOrLoad(all, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Cache is bounded and skips oversized pages")
+    void givenLimits_whenGetOrLoad_thenRespectLimits() {
+        cache.getOrLoad(UserQueryKey.of(PageRequest.of(0, 20)), this::load);
+        cache.getOrLoad(UserQueryKey.of(PageRequest.of(1, 20)), this::load);
+        cache.getOrLoad(UserQueryKey.of(PageRequest.of(2, 20)), this::load);
+        cache.getOrLoad(UserQueryKey.of(PageRequest.of(0, 500)), this::load);
+        cache.getOrLoad(UserQueryKey.of(PageRequest.of(0, 500)), this::load);
+
+        assertEquals(2, cache.stats().get("size"));
+        assertEquals(1L, cache.stats().get("evictions"));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    @DisplayName("Count lookups are reported apart from page lookups")
+    @SuppressWarnings("unchecked")
+    void givenCountLookups_whenStats_thenSeparateCounters() {
+        cache.getOrLoad(UserQueryKey.of(FROM, TO, PageRequest.of(0, 20)), this::load);
+        cache.countOrLoad(FROM, TO, () -> 12);
+        cache.countOrLoad(FROM, TO, () -> 12);
+
+        Map<String, Object> counts = (Map<String, Object>) cache.stats().get("counts");
+        assertEquals(0L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+        assertEquals(0.0, cache.stats().get("hitRatio"));
+        assertEquals(1L, counts.get("hits"));
+        assertEquals(1L, counts.get("misses"));
+        assertEquals(0.5, counts.get("hitRatio"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.clearsolutions.task.controller;
+
+import com.clearsolutions.task.config.ContentNegotiationConfiguration;
+import com.clearsolutions.task.config.ValidationConfiguration;
+import com.clearsolutions.task.model.User;
+import com.clearsolutions.task.service.PatchCoalescer;
+import com.clearsolutions.task.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The binary converters have to use the mapper settings from spring.jackson.*, like the JSON converter.
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(controllers = UserController.class, properties = "spring.jackson.property-naming-strategy=SNAKE_CASE")
+@Import({PatchCoalescer.class, ValidationConfiguration.class, ContentNegotiationConfiguration.class})
+class UserControllerNegotiationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    @DisplayName("GET /users - Smile and CBOR follow spring.jackson settings")
+    void givenSnakeCaseNaming_whenGetAllUsersAsBinary_thenSnakeCaseFields() throws Exception {
+        User user = User.builder()
+                .id(1L)
+                .email("user1@gmail.com")
+                .firstName("First")
+                .lastName("Last")
+                .birthDate(LocalDate.parse("1990-05-25"))
+                .build();
+        when(userService.getAllUsers(PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(user), PageRequest.of(0, 20), 1));
+
+        byte[] smile = mvc.perform(get("/users")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode smilePage = new ObjectMapper(new SmileFactory()).readTree(smile);
+        assertEquals(1, smilePage.get("total_elements").asInt());
+        assertEquals("1990-05-25", smilePage.get("content").get(0).get("birth_date").asText());
+
+        byte[] cbor = mvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode cborPage = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertTrue(cborPage.has("total_elements"));
+        assertEquals("First", cborPage.get("content").get(0).get("first_name").asText());
+    }
+}
@@ -1,9 +1,18 @@
 package com.clearsolutions.task.controller;
 
+import com.clearsolutions.task.config.ContentNegotiationConfiguration;
+import com.clearsolutions.task.config.ValidationConfiguration;
 import com.clearsolutions.task.model.User;
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserCursor;
 import com.clearsolutions.task.dto.UserRequest;
 import com.clearsolutions.task.exception.UserAlreadyExistsException;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import com.clearsolutions.task.service.PatchCoalescer;
 import com.clearsolutions.task.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,11 +23,15 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -32,6 +45,7 @@ import java.util.Random;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -40,6 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(UserController.class)
+@Import({PatchCoalescer.class, ValidationConfiguration.class, ContentNegotiationConfiguration.class})
 class UserControllerTest {
 
     @Autowired
@@ -95,6 +110,84 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(50));
     }
 
+    @Test
+    @DisplayName("GET /users - Smile and CBOR on request")
+    void givenBinaryAccept_whenGetAllUsers_thenReturnBinaryPage() throws Exception {
+        Page<User> userPage = new PageImpl<>(usersList, PageRequest.of(0, 20), usersList.size());
+        when(userService.getAllUsers(PageRequest.of(0, 20))).thenReturn(userPage);
+
+        byte[] smile = mvc.perform(get("/users")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode page = new ObjectMapper(new SmileFactory()).readTree(smile);
+        assertEquals(50, page.get("totalElements").asInt());
+        assertEquals("user1@gmail.com", page.get("content").get(0).get("email").asText());
+
+        mvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    @DisplayName("GET /users?slice=true - return slice without total")
+    void givenSliceMode_whenGetAllUsers_thenReturnSlice() throws Exception {
+        Slice<User> userSlice = new SliceImpl<>(usersList.subList(0, 20), PageRequest.of(0, 20), true);
+        when(userService.getUsersSlice(PageRequest.of(0, 20))).thenReturn(userSlice);
+        mvc.perform(get("/users")
+                        .param("slice", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[19]").exists())
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        verify(userService, never()).getAllUsers(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /users?after=<birthDate>,<id> - return keyset slice")
+    void givenCursor_whenGetAllUsers_thenReturnKeysetSlice() throws Exception {
+        UserCursor cursor = new UserCursor(LocalDate.parse("1990-05-25"), 7L);
+        Slice<User> userSlice = new SliceImpl<>(usersList.subList(0, 20), PageRequest.ofSize(20), true);
+        when(userService.getUsersSliceAfter(eq(cursor), any(Pageable.class))).thenReturn(userSlice);
+        mvc.perform(get("/users")
+                        .param("after", "1990-05-25,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[19]").exists())
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        verify(userService, never()).getAllUsers(any(Pageable.class));
+
+        mvc.perform(get("/users")
+                        .param("after", "1990-05-25"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /users/by-email - return user")
+    void givenEmail_whenGetUserByEmail_thenReturnUser() throws Exception {
+        User user = usersList.get(0);
+        when(userService.getUserByEmail("User1@Gmail.com")).thenReturn(user);
+        mvc.perform(get("/users/by-email")
+                        .param("email", "User1@Gmail.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.email").value("user1@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("GET /users/by-email - unknown or missing email")
+    void givenUnknownOrMissingEmail_whenGetUserByEmail_thenReturnError() throws Exception {
+        when(userService.getUserByEmail("unknown@gmail.com"))
+                .thenThrow(new UserNotFoundException("User with email unknown@gmail.com not found"));
+        mvc.perform(get("/users/by-email")
+                        .param("email", "unknown@gmail.com"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.Error").value("User with email unknown@gmail.com not found"));
+        mvc.perform(get("/users/by-email"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /users/range - with correct range - return page")
     void givenCorrectDateRange_whenGetWithinRange_thenReturnPage() throws Exception {
@@ -177,6 +270,18 @@ class UserControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("PUT /users/{id} - concurrently modified user - return 409_Conflict")
+    void givenStaleVersion_whenUpdateUser_thenReturnConflict() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 1L))
+                .when(userService).updateUser(anyLong(), any(UserRequest.class));
+        mvc.perform(put("/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(simpleUserJson))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.Error").value("User was modified concurrently, retry the request"));
+    }
+
     @ParameterizedTest
     @MethodSource("provideJsonData")
     @DisplayName("PUT /users/ - with invalid id - return 400_BadRequest")
@@ -237,4 +342,46 @@ class UserControllerTest {
         mvc.perform(delete("/users/{id}", anyLong()))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /users/bulk/delete - with criteria - return affected count")
+    void givenCriteria_whenBulkDelete_thenReturnAffected() throws Exception {
+        when(userService.deleteUsers(any(UserCriteria.class))).thenReturn(3);
+
+        mvc.perform(post("/users/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"from":"1990-01-01","to":"1995-12-31"}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /users/bulk/patch - with criteria and patch - return affected count")
+    void givenCriteriaAndPatch_whenBulkPatch_thenReturnAffected() throws Exception {
+        when(userService.patchUsers(any(UserCriteria.class), any(UserRequest.class))).thenReturn(2);
+
+        mvc.perform(post("/users/bulk/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"criteria":{"ids":[1,2]},"patch":{"address":"Kyiv"}}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /users/bulk/patch - with invalid patch - return 400_BadRequest")
+    void givenInvalidPatch_whenBulkPatch_thenBadRequest() throws Exception {
+        mvc.perform(post("/users/bulk/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"criteria":{"ids":[1,2]},"patch":{"birthDate":"2015-01-01"}}"""))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/users/bulk/patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"patch":{"address":"Kyiv"}}"""))
+                .andExpect(status().isBadRequest());
+        verify(userService, never()).patchUsers(any(UserCriteria.class), any(UserRequest.class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.clearsolutions.task.controller;
+
+import com.clearsolutions.task.dto.UserOperationResult;
+import com.clearsolutions.task.service.UserOperationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(UserOperationController.class)
+class UserOperationControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private UserOperationService userOperationService;
+
+    @Test
+    @DisplayName("POST /users/ops - with operations - return result per operation")
+    void givenOperations_whenExecute_thenReturnResults() throws Exception {
+        when(userOperationService.execute(anyList())).thenReturn(List.of(
+                new UserOperationResult(0, 201, 5L, null),
+                new UserOperationResult(1, 404, null, Map.of("Error", "User with id 9 not found"))));
+
+        mvc.perform(post("/users/ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                {"op":"create","body":{"email":"ops@gmail.com","firstName":"a","lastName":"b","birthDate":"1990-01-01"}},
+                                {"op":"delete","id":9}
+                                ]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].errors.Error").exists());
+    }
+
+    @Test
+    @DisplayName("POST /users/ops - with unknown operation - return 400_BadRequest")
+    void givenUnknownOperation_whenExecute_thenBadRequest() throws Exception {
+        mvc.perform(post("/users/ops")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"op":"merge","id":1}]"""))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,114 @@
+package com.clearsolutions.task.metrics;
+
+import com.clearsolutions.task.admission.AdmissionControlFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCostFilterTest {
+
+    private final RequestCostRecorder recorder = new RequestCostRecorder();
+
+    private static FilterChain handler(String route, int status) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            ((HttpServletResponse) response).setStatus(status);
+            response.getWriter().write("{\"content\":[]}");
+        };
+    }
+
+    @Test
+    @DisplayName("Requests are aggregated per route, method and status")
+    void givenRequests_whenFiltered_thenRecordedPerRouteAndStatus() throws Exception {
+        RequestCostFilter filter = new RequestCostFilter(recorder, false);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(),
+                handler("/users/{id}", 200));
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/2"), new MockHttpServletResponse(),
+                handler("/users/{id}", 200));
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/3"), new MockHttpServletResponse(),
+                handler("/users/{id}", 404));
+
+        List<Map<String, Object>> stats = recorder.stats();
+        assertEquals(2, stats.size());
+        assertEquals("/users/{id}", stats.get(0).get("route"));
+        assertEquals(200, stats.get(0).get("status"));
+        assertEquals(2L, stats.get(0).get("count"));
+        assertEquals(404, stats.get(1).get("status"));
+        assertEquals(1L, stats.get(1).get("count"));
+        assertTrue(stats.get(0).containsKey("allocatedBytes"));
+    }
+
+    @Test
+    @DisplayName("Server-Timing header is added before the body is written")
+    void givenServerTiming_whenFiltered_thenHeaderPresent() throws Exception {
+        RequestCostFilter filter = new RequestCostFilter(recorder, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, handler("/users", 200));
+
+        String serverTiming = response.getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches("cpu;dur=\\d+\\.\\d{3}, alloc;desc=\"\\d+ bytes\""), serverTiming);
+    }
+
+    @Test
+    @DisplayName("Server-Timing header is off by default")
+    void givenServerTimingDisabled_whenFiltered_thenNoHeader() throws Exception {
+        RequestCostFilter filter = new RequestCostFilter(recorder, false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, handler("/users", 200));
+
+        assertNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    @DisplayName("Request without a matched handler is recorded as unmatched")
+    void givenNoHandler_whenFiltered_thenUnmatchedRoute() throws Exception {
+        RequestCostFilter filter = new RequestCostFilter(recorder, false);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/a/b"), new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(404));
+
+        assertEquals(RequestCostFilter.UNMATCHED_ROUTE, recorder.stats().get(0).get("route"));
+    }
+
+    @Test
+    @DisplayName("Request shed by admission control is recorded as shed")
+    void givenShedRequest_whenFiltered_thenShedRoute() throws Exception {
+        RequestCostFilter filter = new RequestCostFilter(recorder, false);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    request.setAttribute(AdmissionControlFilter.SHED_ATTRIBUTE, Boolean.TRUE);
+                    ((HttpServletResponse) response).setStatus(429);
+                });
+
+        assertEquals(RequestCostFilter.SHED_ROUTE, recorder.stats().get(0).get("route"));
+        assertEquals(429, recorder.stats().get(0).get("status"));
+    }
+
+    @Test
+    @DisplayName("Histogram percentiles are bucket upper bounds capped by the maximum")
+    void givenSamples_whenPercentile_thenBucketUpperBound() {
+        CostHistogram histogram = new CostHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10L);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(511, histogram.percentile(0.50));
+        assertEquals(1000, histogram.percentile(0.99));
+        assertEquals(1000L, histogram.snapshot().get("max"));
+    }
+}
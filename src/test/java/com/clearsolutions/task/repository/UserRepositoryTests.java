@@ -1,16 +1,23 @@
 package com.clearsolutions.task.repository;
 
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserRequest;
 import com.clearsolutions.task.model.User;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -60,4 +67,120 @@ public class UserRepositoryTests {
         assertNotNull(allByBirthDateBetween);
         assertEquals(3, allByBirthDateBetween.getTotalElements());
     }
+
+    @Test
+    public void whenFindByEmailNormalized_ThenOne() {
+        User user = userRepository.findByEmailNormalized(User.normalizeEmail(" Email3@Gmail.com ")).orElseThrow();
+
+        assertEquals("email3@gmail.com", user.getEmail());
+        assertEquals(LocalDate.parse("1993-05-25"), user.getBirthDate());
+        assertTrue(userRepository.findByEmailNormalized("missing@gmail.com").isEmpty());
+    }
+
+    @Test
+    public void whenSaveEmailDifferingOnlyInCase_ThenRejected() {
+        User duplicate = User.builder()
+                .email("Email3@Gmail.com")
+                .firstName("Afrosin")
+                .lastName("Dmytro")
+                .birthDate(LocalDate.parse("1993-05-25"))
+                .build();
+
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(duplicate));
+    }
+
+    @Test
+    public void whenFindSliceByBirthDateBetweenSorted_ThenOrderedByBirthDateDesc() {
+        Slice<User> slice = userRepository.findSliceByBirthDateBetween(
+                LocalDate.parse("1992-01-01"),
+                LocalDate.parse("1996-12-31"),
+                PageRequest.of(0, 3, Sort.by(Sort.Order.desc("birthDate"), Sort.Order.desc("id"))));
+
+        assertEquals(3, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        assertEquals(LocalDate.parse("1996-05-25"), slice.getContent().get(0).getBirthDate());
+        assertEquals(LocalDate.parse("1994-05-25"), slice.getContent().get(2).getBirthDate());
+    }
+
+    @Test
+    public void whenFindSliceAfter_ThenNextKeysetPage() {
+        User third = userRepository.findAll(Sort.by("birthDate")).get(2);
+
+        Slice<User> slice = userRepository.findSliceAfter(third.getBirthDate(), third.getId(), PageRequest.ofSize(3));
+
+        assertEquals(3, slice.getNumberOfElements());
+        assertTrue(slice.hasNext());
+        assertEquals(LocalDate.parse("1994-05-25"), slice.getContent().get(0).getBirthDate());
+        assertEquals(LocalDate.parse("1996-05-25"), slice.getContent().get(2).getBirthDate());
+    }
+
+    @Test
+    public void whenFindSliceWithinAfter_ThenKeysetPageInsideRange() {
+        Slice<User> slice = userRepository.findSliceWithinAfter(
+                LocalDate.parse("1995-01-01"),
+                LocalDate.parse("1997-12-31"),
+                LocalDate.parse("1990-01-01"), 0L,
+                PageRequest.ofSize(5));
+
+        assertEquals(3, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+        assertEquals(LocalDate.parse("1995-05-25"), slice.getContent().get(0).getBirthDate());
+    }
+
+    @Test
+    public void whenSaveStaleVersion_ThenOptimisticLockingFailure() {
+        User user = userRepository.findAll(Sort.by("birthDate")).get(0);
+        User stale = User.builder()
+                .id(user.getId())
+                .version(user.getVersion())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .birthDate(user.getBirthDate())
+                .address("Lviv")
+                .build();
+
+        user.setAddress("Odesa");
+        userRepository.saveAndFlush(user);
+
+        assertEquals(stale.getVersion() + 1, user.getVersion());
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> userRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    public void whenFindBirthDateSpan_ThenMinAndMaxOfIds() {
+        List<Long> ids = userRepository.findAll(Sort.by("birthDate")).stream().map(User::getId).toList();
+
+        BirthDateSpan span = userRepository.findBirthDateSpan(List.of(ids.get(2), ids.get(5)));
+
+        assertEquals(LocalDate.parse("1993-05-25"), span.min());
+        assertEquals(LocalDate.parse("1996-05-25"), span.max());
+    }
+
+    @Test
+    public void whenDeleteByCriteria_ThenRangeRemoved() {
+        int deleted = userRepository.deleteByCriteria(UserCriteria.builder()
+                .from(LocalDate.parse("1995-01-01"))
+                .to(LocalDate.parse("1997-12-31"))
+                .build());
+
+        assertEquals(3, deleted);
+        assertEquals(6, userRepository.count());
+    }
+
+    @Test
+    public void whenPatchByCriteria_ThenOnlyMatchingIdsInRangeUpdated() {
+        List<Long> ids = userRepository.findAll(Sort.by("birthDate")).stream().map(User::getId).toList();
+        UserCriteria criteria = UserCriteria.builder()
+                .ids(ids.subList(0, 3))
+                .from(LocalDate.parse("1992-01-01"))
+                .to(LocalDate.parse("1999-12-31"))
+                .build();
+
+        int patched = userRepository.patchByCriteria(criteria, UserRequest.builder().address("Lviv").build());
+        entityManager.clear();
+
+        assertEquals(2, patched);
+        assertEquals(2, userRepository.findAll().stream().filter(user -> "Lviv".equals(user.getAddress())).count());
+    }
 }
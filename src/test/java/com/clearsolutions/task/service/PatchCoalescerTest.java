@@ -0,0 +1,142 @@
+package com.clearsolutions.task.service;
+
+import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PatchCoalescerTest {
+
+    private static final UserRequest SLOW_PATCH = UserRequest.builder().firstName("in-progress").build();
+
+    private final UserService userService = mock(UserService.class);
+    private final CountDownLatch slowPatchStarted = new CountDownLatch(1);
+    private final CountDownLatch slowPatchReleased = new CountDownLatch(1);
+    private PatchCoalescer patchCoalescer;
+
+    // SLOW_PATCH keeps its write in progress until released; a patch with email "invalid" is rejected.
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            UserRequest patch = invocation.getArgument(1);
+            if (patch == SLOW_PATCH) {
+                slowPatchStarted.countDown();
+                slowPatchReleased.await(5, TimeUnit.SECONDS);
+            }
+            if ("invalid".equals(patch.getEmail())) {
+                throw new IllegalArgumentException("Email is not valid");
+            }
+            return null;
+        }).when(userService).patchUpdateUser(anyLong(), any(UserRequest.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowPatchReleased.countDown();
+        if (patchCoalescer != null) {
+            patchCoalescer.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> startSlowPatch(Long id) throws InterruptedException {
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> patchCoalescer.patchUpdateUser(id, SLOW_PATCH));
+        assertTrue(slowPatchStarted.await(5, TimeUnit.SECONDS));
+        return slow;
+    }
+
+    @Test
+    @DisplayName("Patch without a write in progress is applied without waiting for the window")
+    void givenNoPendingPatch_whenPatch_thenAppliedImmediately() {
+        patchCoalescer = new PatchCoalescer(userService, Duration.ofHours(1), 2);
+        UserRequest patch = UserRequest.builder().firstName("alone").build();
+
+        CompletableFuture<Void> result = patchCoalescer.submit(1L, patch);
+
+        assertTrue(result.isDone());
+        verify(userService).patchUpdateUser(1L, patch);
+    }
+
+    @Test
+    @DisplayName("Patches arriving during a write are merged, last writer wins per field")
+    void givenPatchesDuringWrite_whenFlushed_thenOneMergedUpdate() throws Exception {
+        patchCoalescer = new PatchCoalescer(userService, Duration.ofMillis(10), 2);
+        CompletableFuture<Void> slow = startSlowPatch(1L);
+
+        CompletableFuture<Void> first = patchCoalescer.submit(1L, UserRequest.builder()
+                .firstName("first").address("Kyiv").build());
+        CompletableFuture<Void> second = patchCoalescer.submit(1L, UserRequest.builder()
+                .firstName("second").birthDate(LocalDate.parse("1990-05-25")).build());
+        CompletableFuture<Void> other = patchCoalescer.submit(2L, UserRequest.builder().lastName("other").build());
+        slowPatchReleased.countDown();
+
+        CompletableFuture.allOf(slow, first, second, other).get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<UserRequest> patches = ArgumentCaptor.forClass(UserRequest.class);
+        verify(userService, times(2)).patchUpdateUser(eq(1L), patches.capture());
+        UserRequest merged = patches.getAllValues().get(1);
+        assertEquals("second", merged.getFirstName());
+        assertEquals("Kyiv", merged.getAddress());
+        assertEquals(LocalDate.parse("1990-05-25"), merged.getBirthDate());
+        assertNull(merged.getEmail());
+        verify(userService, times(1)).patchUpdateUser(eq(2L), any(UserRequest.class));
+    }
+
+    @Test
+    @DisplayName("Failed merged write is replayed per patch, so only the invalid patch fails")
+    void givenOneInvalidMergedPatch_whenFlushed_thenOnlyThatRequestFails() throws Exception {
+        patchCoalescer = new PatchCoalescer(userService, Duration.ofMillis(10), 2);
+        CompletableFuture<Void> slow = startSlowPatch(1L);
+        UserRequest valid = UserRequest.builder().address("Kyiv").build();
+        UserRequest invalid = UserRequest.builder().email("invalid").build();
+
+        CompletableFuture<Void> validResult = patchCoalescer.submit(1L, valid);
+        CompletableFuture<Void> invalidResult = patchCoalescer.submit(1L, invalid);
+        slowPatchReleased.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        assertNull(validResult.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class,
+                assertThrows(CompletionException.class, invalidResult::join).getCause());
+        verify(userService).patchUpdateUser(1L, valid);
+        verify(userService).patchUpdateUser(1L, invalid);
+    }
+
+    @Test
+    @DisplayName("Failed write is thrown to the caller")
+    void givenFailingWrite_whenPatch_thenException() {
+        patchCoalescer = new PatchCoalescer(userService, Duration.ofMillis(10), 2);
+        doThrow(new UserNotFoundException("User with id 1 not found"))
+                .when(userService).patchUpdateUser(eq(1L), any(UserRequest.class));
+
+        assertThrows(UserNotFoundException.class,
+                () -> patchCoalescer.patchUpdateUser(1L, UserRequest.builder().firstName("first").build()));
+        assertThrows(UserNotFoundException.class,
+                () -> patchCoalescer.patchUpdateUser(1L, UserRequest.builder().firstName("second").build()));
+    }
+
+    @Test
+    @DisplayName("Zero window patches directly")
+    void givenZeroWindow_whenPatch_thenDirectUpdate() {
+        patchCoalescer = new PatchCoalescer(userService, Duration.ZERO, 1);
+        UserRequest patch = UserRequest.builder().firstName("direct").build();
+
+        patchCoalescer.patchUpdateUser(1L, patch);
+
+        verify(userService).patchUpdateUser(1L, patch);
+    }
+}
@@ -0,0 +1,121 @@
+package com.clearsolutions.task.service;
+
+import com.clearsolutions.task.dto.UserOperation;
+import com.clearsolutions.task.dto.UserOperationResult;
+import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.exception.UserNotFoundException;
+import com.clearsolutions.task.model.User;
+import com.clearsolutions.task.validation.UserRequestValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserOperationServiceTest {
+
+    private UserService userService;
+    private PlatformTransactionManager transactionManager;
+    private UserOperationService userOperationService;
+
+    private static final UserRequest validUser = UserRequest.builder()
+            .email("ops@gmail.com")
+            .firstName("OpsFirstName")
+            .lastName("OpsLastName")
+            .birthDate(LocalDate.parse("1990-05-01"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        userOperationService = new UserOperationService(userService,
+                new UserRequestValidator(Validation.buildDefaultValidatorFactory(), 18), transactionManager, 2, 10);
+    }
+
+    @Test
+    @DisplayName("Mixed operations - return result per operation")
+    void givenMixedOperations_whenExecute_thenReturnResultPerOperation() {
+        when(userService.createUser(any(UserRequest.class))).thenReturn(User.builder().id(7L).build());
+        doThrow(new UserNotFoundException("User with id 3 not found"))
+                .when(userService).patchUpdateUser(eq(3L), any(UserRequest.class));
+
+        List<UserOperationResult> results = userOperationService.execute(List.of(
+                UserOperation.builder().op(UserOperation.Type.CREATE).body(validUser).build(),
+                UserOperation.builder().op(UserOperation.Type.PUT).id(2L).body(new UserRequest()).build(),
+                UserOperation.builder().op(UserOperation.Type.PATCH).id(3L).body(validUser).build(),
+                UserOperation.builder().op(UserOperation.Type.DELETE).id(4L).build(),
+                UserOperation.builder().op(UserOperation.Type.DELETE).build()));
+
+        assertEquals(List.of(201, 400, 404, 204, 400), results.stream().map(UserOperationResult::status).toList());
+        assertEquals(7L, results.get(0).id());
+        assertTrue(results.get(1).errors().containsKey("email"));
+        assertTrue(results.get(4).errors().containsKey("id"));
+        verify(userService, never()).updateUser(any(), any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Failed chunk - replay operations one by one")
+    void givenFailingChunk_whenExecute_thenReplayEachOperation() {
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(userService).updateUser(eq(2L), any(UserRequest.class));
+
+        List<UserOperationResult> results = userOperationService.execute(List.of(
+                UserOperation.builder().op(UserOperation.Type.DELETE).id(1L).build(),
+                UserOperation.builder().op(UserOperation.Type.PUT).id(2L).body(validUser).build()));
+
+        assertEquals(List.of(204, 400), results.stream().map(UserOperationResult::status).toList());
+        assertEquals("User with this email already exists", results.get(1).errors().get("Error"));
+        verify(userService, times(2)).deleteUserById(1L);
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Concurrently modified user - 409 for that operation")
+    void givenStaleVersion_whenExecute_thenReturnConflict() {
+        doThrow(new ObjectOptimisticLockingFailureException(User.class, 2L))
+                .when(userService).patchUpdateUser(eq(2L), any(UserRequest.class));
+
+        List<UserOperationResult> results = userOperationService.execute(List.of(
+                UserOperation.builder().op(UserOperation.Type.DELETE).id(1L).build(),
+                UserOperation.builder().op(UserOperation.Type.PATCH).id(2L).body(validUser).build()));
+
+        assertEquals(List.of(204, 409), results.stream().map(UserOperationResult::status).toList());
+        assertEquals("User was modified concurrently, retry the request", results.get(1).errors().get("Error"));
+    }
+
+    @Test
+    @DisplayName("Null operation - 400 for that operation only")
+    void givenNullOperation_whenExecute_thenReturnBadRequestForItsIndex() {
+        List<UserOperationResult> results = userOperationService.execute(Arrays.asList(
+                UserOperation.builder().op(UserOperation.Type.DELETE).id(1L).build(),
+                null));
+
+        assertEquals(List.of(204, 400), results.stream().map(UserOperationResult::status).toList());
+        assertEquals(1, results.get(1).index());
+        assertEquals("Operation shouldn't be null", results.get(1).errors().get("Error"));
+        verify(userService).deleteUserById(1L);
+    }
+
+    @Test
+    @DisplayName("Too many operations - return exception")
+    void givenTooManyOperations_whenExecute_thenReturnException() {
+        List<UserOperation> operations = Collections.nCopies(11,
+                UserOperation.builder().op(UserOperation.Type.DELETE).id(1L).build());
+
+        assertThrows(IllegalArgumentException.class, () -> userOperationService.execute(operations));
+    }
+}
@@ -1,8 +1,15 @@
 package com.clearsolutions.task.service;
 
+import com.clearsolutions.task.cache.UserCounter;
+import com.clearsolutions.task.cache.UserEmailCache;
+import com.clearsolutions.task.cache.UserQueryCache;
+import com.clearsolutions.task.dto.UserCriteria;
+import com.clearsolutions.task.dto.UserCursor;
 import com.clearsolutions.task.dto.UserRequest;
+import com.clearsolutions.task.event.UserChangedEvent;
 import com.clearsolutions.task.exception.UserNotFoundException;
 import com.clearsolutions.task.model.User;
+import com.clearsolutions.task.repository.BirthDateSpan;
 import com.clearsolutions.task.repository.UserRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,16 +25,22 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +53,8 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(SpringExtension.class)
 @Import(UserServiceTest.UserServiceTestConfiguration.class)
+// Caches and counter keep state between calls, so every test gets a fresh context
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 class UserServiceTest {
 
     @MockBean
@@ -48,11 +63,33 @@ class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserEmailCache userEmailCache;
+
     @TestConfiguration
     static class UserServiceTestConfiguration {
         @Bean
-        public UserService userService(UserRepository userRepository) {
-            return new UserService(userRepository);
+        public UserQueryCache userQueryCache() {
+            return new UserQueryCache(1000, 100);
+        }
+
+        @Bean
+        public UserCounter userCounter() {
+            return new UserCounter(Duration.ofMinutes(1));
+        }
+
+        @Bean
+        public UserEmailCache userEmailCache() {
+            return new UserEmailCache(1000);
+        }
+
+        @Bean
+        public UserService userService(UserRepository userRepository,
+                                       UserQueryCache userQueryCache,
+                                       UserCounter userCounter,
+                                       UserEmailCache userEmailCache,
+                                       ApplicationEventPublisher eventPublisher) {
+            return new UserService(userRepository, userQueryCache, userCounter, userEmailCache, eventPublisher);
         }
     }
 
@@ -89,8 +126,9 @@ class UserServiceTest {
         PageRequest pageRequest = PageRequest.of(0, 20);
         int listSize = usersList.size();
 
-        Page<User> userPage = new PageImpl<>(usersList, pageRequest, usersList.size());
-        when(userRepository.findAll(any(PageRequest.class))).thenReturn(userPage);
+        Slice<User> userSlice = new SliceImpl<>(usersList, pageRequest, true);
+        when(userRepository.findSliceBy(any(Pageable.class))).thenReturn(userSlice);
+        when(userRepository.count()).thenReturn((long) listSize);
 
         Page<User> allUsers = userService.getAllUsers(pageRequest);
         assertEquals(listSize, allUsers.getNumberOfElements());
@@ -109,8 +147,9 @@ class UserServiceTest {
                         user.getBirthDate().isBefore(toDate))
                 .toList();
 
-        Page<User> userPage = new PageImpl<>(list, PageRequest.of(0, 20), list.size());
-        when(userRepository.findAllByBirthDateBetween(any(LocalDate.class), any(LocalDate.class), any(PageRequest.class))).thenReturn(userPage);
+        Slice<User> userSlice = new SliceImpl<>(list, PageRequest.of(0, 20), list.size() > 20);
+        when(userRepository.findSliceByBirthDateBetween(any(LocalDate.class), any(LocalDate.class), any(PageRequest.class))).thenReturn(userSlice);
+        when(userRepository.countByBirthDateBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn((long) list.size());
 
         Page<User> allUsersWithin = userService.getAllUsersWithin(fromDate, toDate, PageRequest.of(0, 20));
 
@@ -118,6 +157,73 @@ class UserServiceTest {
         assertEquals(list.size(), allUsersWithin.getNumberOfElements());
     }
 
+    @Test
+    @DisplayName("Get all users total is served by the maintained counter")
+    void givenCountedTotal_whenGetAllUsersAgain_thenCountOnce() {
+        PageRequest pageRequest = PageRequest.of(1, 10);
+        when(userRepository.findSliceBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(usersList.subList(10, 20), pageRequest, true));
+        when(userRepository.count()).thenReturn((long) usersList.size());
+
+        userService.getAllUsers(pageRequest);
+        clearInvocations(userRepository);
+        Page<User> nextPage = userService.getAllUsers(PageRequest.of(2, 10));
+
+        assertEquals(usersList.size(), nextPage.getTotalElements());
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    @DisplayName("Get users slice does not count")
+    void whenGetUsersSlice_thenNoCount() {
+        PageRequest pageRequest = PageRequest.of(0, 20);
+        when(userRepository.findSliceBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(usersList.subList(0, 20), pageRequest, true));
+
+        Slice<User> slice = userService.getUsersSlice(pageRequest);
+
+        assertTrue(slice.hasNext());
+        verify(userRepository, never()).count();
+        verify(userRepository, never()).countByBirthDateBetween(any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Get users sorted by indexed field - id tie-break appended")
+    void givenSortedPageable_whenGetUsersSlice_thenAppendIdTieBreak() {
+        when(userRepository.findSliceBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(usersList.subList(0, 20), PageRequest.of(0, 20), true));
+
+        userService.getUsersSlice(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "birthDate")));
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findSliceBy(pageableCaptor.capture());
+        assertEquals(Sort.by(Sort.Order.desc("birthDate"), Sort.Order.desc("id")), pageableCaptor.getValue().getSort());
+    }
+
+    @Test
+    @DisplayName("Get users after a cursor - seek by birth date and id")
+    void givenCursor_whenGetUsersSliceAfter_thenSeekWithoutOffset() {
+        UserCursor cursor = new UserCursor(LocalDate.parse("1990-05-25"), 7L);
+        when(userRepository.findSliceAfter(any(LocalDate.class), anyLong(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(usersList.subList(0, 20), PageRequest.ofSize(20), true));
+
+        userService.getUsersSliceAfter(cursor, PageRequest.of(5, 20));
+
+        verify(userRepository).findSliceAfter(cursor.birthDate(), cursor.id(), PageRequest.ofSize(20));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersSliceAfter(cursor, PageRequest.of(0, 20, Sort.by("lastName"))));
+    }
+
+    @Test
+    @DisplayName("Get users sorted by not indexed field")
+    void givenUnsupportedSort_whenGetAllUsers_thenReturnException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getAllUsers(PageRequest.of(0, 20, Sort.by("address"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getAllUsersWithin(LocalDate.parse("1990-01-01"), LocalDate.parse("1997-12-31"),
+                        PageRequest.of(0, 20, Sort.by("phoneNumber"))));
+    }
+
     @Test
     @DisplayName("Get All Users within wrong Range")
     void givenIncorrectDates_whenGetAllUsersWithin_thenReturnException() {
@@ -142,6 +248,8 @@ class UserServiceTest {
                 .build();
 
 
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         userService.createUser(userRequest);
 
@@ -293,4 +401,101 @@ class UserServiceTest {
 
         assertThrows(UserNotFoundException.class, () -> userService.deleteUserById(anyLong()));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Bulk delete by criteria")
+    void givenCriteria_whenDeleteUsers_thenReturnAffected() {
+        UserCriteria criteria = UserCriteria.builder().ids(List.of(1L, 2L)).build();
+        when(userRepository.findBirthDateSpan(criteria.getIds()))
+                .thenReturn(new BirthDateSpan(LocalDate.parse("1990-01-01"), LocalDate.parse("1991-01-01")));
+        when(userRepository.deleteByCriteria(criteria)).thenReturn(2);
+
+        assertEquals(2, userService.deleteUsers(criteria));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Bulk patch by range does not read affected users")
+    void givenRangeCriteria_whenPatchUsers_thenNoSelectBeforeUpdate() {
+        UserCriteria criteria = UserCriteria.builder()
+                .from(LocalDate.parse("1990-01-01"))
+                .to(LocalDate.parse("1995-01-01"))
+                .build();
+        UserRequest patch = UserRequest.builder().address("Kyiv").build();
+        when(userRepository.patchByCriteria(criteria, patch)).thenReturn(3);
+
+        assertEquals(3, userService.patchUsers(criteria, patch));
+        verify(userRepository, never()).findBirthDateSpan(any());
+    }
+
+    @Test
+    @DisplayName("Bulk operations with invalid criteria")
+    void givenInvalidCriteria_whenBulkOperation_thenReturnException() {
+        UserRequest patch = UserRequest.builder().address("Kyiv").build();
+
+        assertThrows(IllegalArgumentException.class, () -> userService.deleteUsers(new UserCriteria()));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.deleteUsers(UserCriteria.builder().ids(List.of()).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.patchUsers(UserCriteria.builder().from(LocalDate.parse("1990-01-01")).build(), patch));
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.patchUsers(UserCriteria.builder()
+                        .from(LocalDate.parse("1995-01-01"))
+                        .to(LocalDate.parse("1990-01-01"))
+                        .build(), patch));
+        verify(userRepository, never()).deleteByCriteria(any(UserCriteria.class));
+        verify(userRepository, never()).patchByCriteria(any(UserCriteria.class), any(UserRequest.class));
+    }
+
+    @Test
+    @DisplayName("Bulk patch with email or empty patch")
+    void givenEmailOrEmptyPatch_whenPatchUsers_thenReturnException() {
+        UserCriteria criteria = UserCriteria.builder().ids(List.of(1L)).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.patchUsers(criteria, UserRequest.builder().email("bulk@gmail.com").build()));
+        assertThrows(IllegalArgumentException.class, () -> userService.patchUsers(criteria, new UserRequest()));
+    }
+
+    @Test
+    @DisplayName("Get user by email with different case")
+    void givenMixedCaseEmail_whenGetUserByEmail_thenNormalizedLookupCached() {
+        User user = User.builder().id(100L).email("cached@gmail.com").firstName("cached").lastName("cached")
+                .birthDate(LocalDate.parse("1990-05-25")).build();
+        clearInvocations(userRepository);
+        when(userRepository.findByEmailNormalized("cached@gmail.com")).thenReturn(Optional.of(user));
+
+        assertEquals(user, userService.getUserByEmail(" Cached@Gmail.com "));
+        assertEquals(user, userService.getUserByEmail("cached@gmail.com"));
+        verify(userRepository, times(1)).findByEmailNormalized("cached@gmail.com");
+
+        userEmailCache.onUserChanged(UserChangedEvent.deleted(user));
+        userService.getUserByEmail("cached@gmail.com");
+        verify(userRepository, times(2)).findByEmailNormalized("cached@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Get user by unknown or blank email")
+    void givenUnknownOrBlankEmail_whenGetUserByEmail_thenReturnException() {
+        when(userRepository.findByEmailNormalized("unknown@gmail.com")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserByEmail("unknown@gmail.com"));
+        assertThrows(IllegalArgumentException.class, () -> userService.getUserByEmail(" "));
+    }
+
+    @Test
+    @DisplayName("Email is stored as given")
+    void givenMixedCaseEmail_whenCreateUser_thenEmailKeptAsGiven() {
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User user = userService.createUser(UserRequest.builder()
+                .email("Mixed.Case@Gmail.com")
+                .firstName("first")
+                .lastName("last")
+                .birthDate(LocalDate.parse("1990-05-25"))
+                .build());
+
+        assertEquals("Mixed.Case@Gmail.com", user.getEmail());
+        assertEquals("mixed.case@gmail.com", user.getEmailNormalized());
+    }
+}
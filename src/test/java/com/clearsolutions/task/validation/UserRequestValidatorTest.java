@@ -0,0 +1,152 @@
+package com.clearsolutions.task.validation;
+
+import com.clearsolutions.task.config.ValidationConfiguration;
+import com.clearsolutions.task.dto.BulkPatchRequest;
+import com.clearsolutions.task.dto.UserRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@ContextConfiguration(classes = ValidationConfiguration.class)
+@TestPropertySource(properties = "request.age=18")
+class UserRequestValidatorTest {
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserRequestValidator userRequestValidator;
+
+    private static List<UserRequest> readRequests(String file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        List<UserRequest> requests = new ArrayList<>();
+        for (String json : Files.readAllLines(Path.of(file))) {
+            try {
+                requests.add(mapper.readValue(json, UserRequest.class));
+            } catch (IOException e) {
+                // malformed JSON lines are rejected before validation
+            }
+        }
+        return requests;
+    }
+
+    private static List<UserRequest> edgeCases() {
+        LocalDate today = LocalDate.now();
+        return List.of(
+                new UserRequest(),
+                UserRequest.builder().email(" ").firstName(" ").lastName("\t").build(),
+                UserRequest.builder().email("a@b").birthDate(today).build(),
+                UserRequest.builder().email("not-an-email").birthDate(today.plusDays(1)).build(),
+                UserRequest.builder().birthDate(today.minusYears(18)).build(),
+                UserRequest.builder().birthDate(today.minusYears(18).plusDays(1)).build());
+    }
+
+    private Map<String, Set<String>> providerErrors(UserRequest userRequest, Class<?> group) {
+        return validator.validate(userRequest, group).stream()
+                .collect(Collectors.groupingBy(violation -> violation.getPropertyPath().toString(),
+                        Collectors.mapping(ConstraintViolation::getMessage, Collectors.toSet())));
+    }
+
+    private void assertSameErrors(List<UserRequest> requests, Class<?> group) {
+        Map<Integer, Map<String, String>> all = userRequestValidator.validateAll(requests, group);
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, Set<String>> expected = providerErrors(requests.get(i), group);
+            Map<String, String> actual = userRequestValidator.validate(requests.get(i), group);
+
+            assertEquals(expected.keySet(), actual.keySet(), "request " + i);
+            actual.forEach((field, message) -> assertTrue(expected.get(field).contains(message), message));
+            assertEquals(actual, all.getOrDefault(i, Map.of()));
+        }
+    }
+
+    @Test
+    @DisplayName("PUT group errors match Bean Validation")
+    void givenPutRequests_whenValidate_thenSameErrorsAsProvider() throws IOException {
+        List<UserRequest> requests = new ArrayList<>(readRequests("src/test/resources/invalid_jsons_for_POST.txt"));
+        requests.addAll(edgeCases());
+
+        assertSameErrors(requests, PutValidation.class);
+    }
+
+    @Test
+    @DisplayName("PATCH group errors match Bean Validation")
+    void givenPatchRequests_whenValidate_thenSameErrorsAsProvider() throws IOException {
+        List<UserRequest> requests = new ArrayList<>(readRequests("src/test/resources/json_for_PATCH.txt"));
+        requests.addAll(edgeCases());
+
+        assertSameErrors(requests, PatchValidation.class);
+    }
+
+    @Test
+    @DisplayName("Only UserRequest is supported")
+    void whenSupports_thenOnlyUserRequest() {
+        assertTrue(userRequestValidator.supports(UserRequest.class));
+        assertFalse(userRequestValidator.supports(BulkPatchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Age cutoff is exact to the day and follows the date")
+    void givenClock_whenDayChanges_thenCutoffMoves() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-19T23:59:00Z"));
+        AgeCutoff ageCutoff = new AgeCutoff(18, clock);
+
+        assertTrue(ageCutoff.isOldEnough(LocalDate.parse("2008-10-19")));
+        assertFalse(ageCutoff.isOldEnough(LocalDate.parse("2008-10-20")));
+        assertFalse(ageCutoff.isOldEnough(LocalDate.parse("2008-12-31")));
+
+        clock.instant = Instant.parse("2026-10-20T00:01:00Z");
+
+        assertTrue(ageCutoff.isOldEnough(LocalDate.parse("2008-10-20")));
+        assertEquals(LocalDate.parse("2026-10-20"), ageCutoff.today());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}